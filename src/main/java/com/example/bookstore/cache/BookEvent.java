@@ -0,0 +1,43 @@
+// cache/BookEvent.java
+package com.example.bookstore.cache;
+
+/**
+ * A write to a book that other nodes must hear about to keep their caches coherent.
+ *
+ * @param type   the kind of write
+ * @param bookId the ID of the book that was written
+ * @param origin the {@link InvalidationBus#nodeId() node ID} of the node that made the write
+ */
+public record BookEvent(Type type, Long bookId, String origin) {
+
+    /**
+     * The kinds of write broadcast on the bus.
+     */
+    public enum Type { ADDED, UPDATED, DELETED }
+
+    /**
+     * Encodes the event in the compact wire format used between nodes, e.g. {@code UPDATED:42:5f0c9a2e}.
+     *
+     * @return the encoded event
+     */
+    public String encode() {
+        return type + ":" + bookId + ":" + origin;
+
+    }
+
+    /**
+     * Decodes an event from its wire format.
+     *
+     * @param message the encoded event
+     * @return the decoded event
+     * @throws IllegalArgumentException if the message is not a valid event
+     */
+    public static BookEvent decode(String message) {
+        String[] parts = message.split(":", 3);
+        if (parts.length < 3 || parts[2].isBlank()) {
+            throw new IllegalArgumentException("Malformed book event: " + message);
+        }
+        return new BookEvent(Type.valueOf(parts[0]), Long.valueOf(parts[1].trim()), parts[2].trim());
+
+    }
+}
@@ -0,0 +1,35 @@
+// cache/InvalidationBus.java
+package com.example.bookstore.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts book write events to every node sharing the bus, including the sender.
+ * Events carry the sender's {@link #nodeId()}, so that a node can skip the events of its own writes.
+ * Implementations deliver on a best-effort basis; caches must still expire entries on their own
+ * so that a lost event only delays coherence instead of breaking it.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Returns the ID of this node, unique among the nodes sharing the bus.
+     *
+     * @return the node ID to put in the events this node publishes
+     */
+    String nodeId();
+
+    /**
+     * Sends an event to all subscribers on all nodes.
+     *
+     * @param event the event to broadcast
+     */
+    void publish(BookEvent event);
+
+    /**
+     * Registers a listener for events published by any node.
+     *
+     * @param listener the listener to call for each event
+     */
+    void subscribe(Consumer<BookEvent> listener);
+
+}
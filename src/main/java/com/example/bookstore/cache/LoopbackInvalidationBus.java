@@ -0,0 +1,45 @@
+// cache/LoopbackInvalidationBus.java
+package com.example.bookstore.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM invalidation bus that delivers events synchronously to its subscribers.
+ * Used for single-node deployments and in tests, where several services can share one instance.
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(LoopbackInvalidationBus.class);
+
+    // ID of this node, put in the events it publishes
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Listeners registered on this bus
+    private final List<Consumer<BookEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+
+    }
+
+    @Override
+    public void publish(BookEvent event) {
+        logger.debug("Publishing book event {}", event);
+        listeners.forEach(listener -> listener.accept(event));
+
+    }
+
+    @Override
+    public void subscribe(Consumer<BookEvent> listener) {
+        listeners.add(listener);
+
+    }
+}
@@ -0,0 +1,139 @@
+// cache/MulticastInvalidationBus.java
+package com.example.bookstore.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus that broadcasts events to peer processes over UDP multicast.
+ * Each event is a single small datagram; delivery is not guaranteed, so caches
+ * relying on this bus must also expire their entries.
+ */
+public class MulticastInvalidationBus implements InvalidationBus, AutoCloseable {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+
+    // Largest datagram we expect to receive; events are a few dozen bytes
+    private static final int MAX_PACKET_SIZE = 512;
+
+    // ID of this node, put in the events it publishes
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Listeners registered on this bus
+    private final List<Consumer<BookEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    // Multicast group and port shared by all nodes
+    private final InetSocketAddress group;
+
+    // Interface used to join the group, or null for the system default
+    private final NetworkInterface networkInterface;
+
+    // Socket used both to send and to receive events
+    private final MulticastSocket socket;
+
+    // Background thread receiving events from peers
+    private final Thread receiver;
+
+    /**
+     * Joins the multicast group and starts receiving events.
+     *
+     * @param groupAddress  the multicast group address, e.g. 239.255.27.1
+     * @param port          the UDP port shared by all nodes
+     * @param interfaceName the network interface to use, or blank for the system default
+     * @param timeToLive    the multicast TTL; 1 keeps packets on the local network
+     */
+    public MulticastInvalidationBus(String groupAddress, int port, String interfaceName, int timeToLive) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.networkInterface = interfaceName == null || interfaceName.isBlank()
+                    ? null : NetworkInterface.getByName(interfaceName);
+            this.socket = new MulticastSocket(port);
+            socket.setTimeToLive(timeToLive);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not join multicast group " + groupAddress + ":" + port, e);
+        }
+        this.receiver = Thread.ofPlatform().daemon().name("invalidation-bus-receiver").start(this::receive);
+        logger.info("Joined invalidation bus at {}", group);
+
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+
+    }
+
+    @Override
+    public void publish(BookEvent event) {
+        byte[] payload = event.encode().getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+            logger.debug("Published book event {}", event);
+        } catch (IOException e) {
+            // Peers will pick up the change when their cached entry expires
+            logger.warn("Could not publish book event {}", event, e);
+        }
+
+    }
+
+    @Override
+    public void subscribe(Consumer<BookEvent> listener) {
+        listeners.add(listener);
+
+    }
+
+    /**
+     * Leaves the multicast group and stops the receiver thread.
+     */
+    @Override
+    public void close() {
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException e) {
+            logger.debug("Could not leave multicast group {}", group, e);
+        }
+        socket.close();
+        receiver.interrupt();
+
+    }
+
+    // Receives datagrams until the socket is closed and hands decoded events to the listeners
+    private void receive() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                BookEvent event = BookEvent.decode(
+                        new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8));
+                logger.debug("Received book event {} from {}", event, packet.getSocketAddress());
+                listeners.forEach(listener -> listener.accept(event));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    logger.warn("Error receiving from invalidation bus", e);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Dropped invalid book event from {}", packet.getSocketAddress(), e);
+            }
+        }
+
+    }
+}
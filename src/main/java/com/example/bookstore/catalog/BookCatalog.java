@@ -0,0 +1,47 @@
+// catalog/BookCatalog.java
+package com.example.bookstore.catalog;
+
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.model.Book;
+
+import java.util.List;
+
+/**
+ * Engine answering catalog searches for {@link com.example.bookstore.service.BookService}.
+ * Engines that keep their own copy of the catalog are told about every write.
+ */
+public interface BookCatalog {
+
+    /**
+     * Finds books matching all given criteria, cheapest first (ties broken by ID).
+     *
+     * @param author   the exact author to match, or null for any author
+     * @param minPrice the lowest price to include, or null for no lower bound
+     * @param maxPrice the highest price to include, or null for no upper bound
+     * @param limit    the maximum number of books to return
+     * @return the matching books in price order
+     */
+    List<BookRow> search(String author, Double minPrice, Double maxPrice, int limit);
+
+    /**
+     * Applies a book written on this node.
+     *
+     * @param book the saved book
+     */
+    void onSaved(Book book);
+
+    /**
+     * Applies a book deleted on this node.
+     *
+     * @param id the ID of the deleted book
+     */
+    void onDeleted(Long id);
+
+    /**
+     * Re-reads a book that may have been written on another node.
+     *
+     * @param id the ID of the book to re-read
+     */
+    void refresh(Long id);
+
+}
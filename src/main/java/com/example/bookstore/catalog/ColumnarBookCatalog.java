@@ -0,0 +1,332 @@
+// catalog/ColumnarBookCatalog.java
+package com.example.bookstore.catalog;
+
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catalog engine that holds every book in memory as primitive columns, for read-heavy deployments.
+ * <p>
+ * Rows are kept sorted by price (then ID), so the {@code double[]} price column doubles as the
+ * price index: a range query is two binary searches. Author names are interned into a dictionary
+ * and each author has a posting list of its rows; since rows are in price order, so are postings.
+ * Searches never touch the database or create entities.
+ * <p>
+ * Writes shift the columns and rebuild the postings, which is linear in the catalog size;
+ * this engine suits catalogs that are read far more often than they are written.
+ */
+public class ColumnarBookCatalog implements BookCatalog {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarBookCatalog.class);
+
+    // Shared empty posting list for authors without books
+    private static final int[] NO_ROWS = new int[0];
+
+    // Load order, matching the order of the columns
+    private static final Comparator<BookRow> BY_PRICE =
+            Comparator.comparingDouble(BookRow::price).thenComparing(BookRow::id);
+
+    // Repository the catalog is loaded from
+    private final BookRepository bookRepo;
+
+    // Router gathering the catalog from all shards
+    private final ShardRouter shards;
+
+    // Guards all columns; searches share the read lock, writes take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns, one entry per book, ordered by price then ID
+    private long[] ids = new long[0];
+    private String[] titles = new String[0];
+    private int[] authorCodes = new int[0];
+    private double[] prices = new double[0];
+    private int size;
+
+    // Author dictionary: each distinct name is stored once and referred to by its code
+    private final Map<String, Integer> authorCodesByName = new HashMap<>();
+    private String[] authorNames = new String[16];
+    private int authorCount;
+
+    // Rows of each author's books in ascending order, indexed by author code
+    private int[][] postings = new int[0][];
+
+    // Whether the catalog has been read from the repository
+    private volatile boolean loaded;
+
+    /**
+     * Constructor for ColumnarBookCatalog.
+     *
+     * @param bookRepo The repository the catalog is loaded from.
+     * @param shards   The router gathering the catalog from all shards.
+     */
+    public ColumnarBookCatalog(BookRepository bookRepo, ShardRouter shards) {
+        this.bookRepo = bookRepo;
+        this.shards = shards;
+
+    }
+
+    /**
+     * (Re)loads the whole catalog from the repository once the application, including its seed data, is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            // Read under the lock: writes made before this point are in the read, later ones wait for the lock
+            List<BookRow> rows = shards.scatter(bookRepo::findAllRows, BY_PRICE);
+            ids = new long[rows.size()];
+            titles = new String[rows.size()];
+            authorCodes = new int[rows.size()];
+            prices = new double[rows.size()];
+            authorCodesByName.clear();
+            authorCount = 0;
+            size = 0;
+            for (BookRow row : rows) {
+                ids[size] = row.id();
+                titles[size] = row.title();
+                authorCodes[size] = internAuthor(row.author());
+                prices[size] = row.price();
+                size++;
+            }
+            rebuildPostings();
+            loaded = true;
+            logger.info("Loaded {} books by {} authors into the columnar catalog", size, authorCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    @Override
+    public List<BookRow> search(String author, Double minPrice, Double maxPrice, int limit) {
+        if (!loaded) {
+            load();
+        }
+        double low = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double high = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        List<BookRow> result = new ArrayList<>(Math.min(limit, 64));
+
+        lock.readLock().lock();
+        try {
+            if (author == null) {
+                for (int row = firstRowAtLeast(low); row < size && prices[row] <= high && result.size() < limit; row++) {
+                    result.add(toRow(row));
+                }
+            } else {
+                Integer code = authorCodesByName.get(author);
+                int[] rows = code == null ? NO_ROWS : postings[code];
+                for (int i = firstPostingAtLeast(rows, low); i < rows.length && prices[rows[i]] <= high && result.size() < limit; i++) {
+                    result.add(toRow(rows[i]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        apply(book.getId(), Optional.of(new BookRow(book.getId(), book.getTitle(), book.getAuthor(), book.getPrice())));
+
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        apply(id, Optional.empty());
+
+    }
+
+    @Override
+    public void refresh(Long id) {
+        apply(id, shards.onShardOf(id, () -> bookRepo.findRowById(id)));
+
+    }
+
+    /**
+     * Returns the number of books in the catalog.
+     *
+     * @return The number of books.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    // Replaces the row for the ID with the given book, or removes it when the book is absent
+    private void apply(Long id, Optional<BookRow> book) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // The initial load has not started reading yet, so it will see this write
+                return;
+            }
+            int existing = indexOf(id);
+            if (existing >= 0) {
+                removeRow(existing);
+            }
+            book.ifPresent(this::insertRow);
+            rebuildPostings();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    // Finds the row holding the ID, or -1; IDs are not indexed since writes are linear anyway
+    private int indexOf(long id) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                return row;
+            }
+        }
+        return -1;
+
+    }
+
+    // Removes a row, shifting the following rows up by one
+    private void removeRow(int row) {
+        int tail = size - row - 1;
+        System.arraycopy(ids, row + 1, ids, row, tail);
+        System.arraycopy(titles, row + 1, titles, row, tail);
+        System.arraycopy(authorCodes, row + 1, authorCodes, row, tail);
+        System.arraycopy(prices, row + 1, prices, row, tail);
+        size--;
+        titles[size] = null;
+
+    }
+
+    // Inserts a book at its place in price order, shifting the following rows down by one
+    private void insertRow(BookRow book) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        int row = insertionPoint(book.price(), book.id());
+        int tail = size - row;
+        System.arraycopy(ids, row, ids, row + 1, tail);
+        System.arraycopy(titles, row, titles, row + 1, tail);
+        System.arraycopy(authorCodes, row, authorCodes, row + 1, tail);
+        System.arraycopy(prices, row, prices, row + 1, tail);
+        ids[row] = book.id();
+        titles[row] = book.title();
+        authorCodes[row] = internAuthor(book.author());
+        prices[row] = book.price();
+        size++;
+
+    }
+
+    // Returns the code of an author name, adding it to the dictionary on first sight
+    private int internAuthor(String author) {
+        Integer code = authorCodesByName.get(author);
+        if (code != null) {
+            return code;
+        }
+        if (authorCount == authorNames.length) {
+            authorNames = Arrays.copyOf(authorNames, authorCount * 2);
+        }
+        authorNames[authorCount] = author;
+        authorCodesByName.put(author, authorCount);
+        return authorCount++;
+
+    }
+
+    // Rebuilds every author's posting list from the author column, keeping rows in ascending order
+    private void rebuildPostings() {
+        int[] counts = new int[authorCount];
+        for (int row = 0; row < size; row++) {
+            counts[authorCodes[row]]++;
+        }
+        int[][] rebuilt = new int[authorCount][];
+        for (int code = 0; code < authorCount; code++) {
+            rebuilt[code] = counts[code] == 0 ? NO_ROWS : new int[counts[code]];
+            counts[code] = 0;
+        }
+        for (int row = 0; row < size; row++) {
+            int code = authorCodes[row];
+            rebuilt[code][counts[code]++] = row;
+        }
+        postings = rebuilt;
+
+    }
+
+    // Finds the first row whose (price, ID) sorts after the given pair
+    private int insertionPoint(double price, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price || (prices[mid] == price && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+
+    }
+
+    // Finds the first row priced at or above the bound
+    private int firstRowAtLeast(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+
+    }
+
+    // Finds the first posting whose row is priced at or above the bound
+    private int firstPostingAtLeast(int[] rows, double price) {
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[rows[mid]] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+
+    }
+
+    // Copies one row out of the columns
+    private BookRow toRow(int row) {
+        return new BookRow(ids[row], titles[row], authorNames[authorCodes[row]], prices[row]);
+
+    }
+}
@@ -0,0 +1,67 @@
+// catalog/RepositoryBookCatalog.java
+package com.example.bookstore.catalog;
+
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.shard.ShardRouter;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Default catalog engine that runs every search as a query against the database.
+ * It keeps no state, so writes need no handling.
+ */
+public class RepositoryBookCatalog implements BookCatalog {
+
+    // Order of search results: cheapest first, ties broken by ID
+    private static final Comparator<BookRow> BY_PRICE =
+            Comparator.comparingDouble(BookRow::price).thenComparing(BookRow::id);
+
+    // Repository instance for accessing book data
+    private final BookRepository bookRepo;
+
+    // Router scattering searches over the shards
+    private final ShardRouter shards;
+
+    /**
+     * Constructor for RepositoryBookCatalog.
+     *
+     * @param bookRepo The repository to query.
+     * @param shards   The router scattering searches over the shards.
+     */
+    public RepositoryBookCatalog(BookRepository bookRepo, ShardRouter shards) {
+        this.bookRepo = bookRepo;
+        this.shards = shards;
+
+    }
+
+    @Override
+    public List<BookRow> search(String author, Double minPrice, Double maxPrice, int limit) {
+        // Each shard returns its own cheapest books; the overall cheapest are among them
+        List<BookRow> rows = shards.scatter(
+                () -> bookRepo.searchRows(author, minPrice, maxPrice, PageRequest.of(0, limit)), BY_PRICE);
+        return rows.size() > limit ? List.copyOf(rows.subList(0, limit)) : rows;
+
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        // Nothing cached; the next query reads the new row
+
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        // Nothing cached; the next query no longer sees the row
+
+    }
+
+    @Override
+    public void refresh(Long id) {
+        // Nothing cached; the next query reads the current row
+
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.cache.InvalidationBus;
+import com.example.bookstore.cache.LoopbackInvalidationBus;
+import com.example.bookstore.cache.MulticastInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration for the Bookstore application.
+ * Enables the per-node book cache and selects the bus used to keep caches coherent across nodes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Name of the cache holding books by ID. */
+    public static final String BOOKS_CACHE = "books";
+
+    /**
+     * Configures an in-JVM invalidation bus for single-node deployments and tests.
+     * @return the loopback InvalidationBus
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.cache.bus", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationBus loopbackInvalidationBus() {
+        return new LoopbackInvalidationBus();
+
+    }
+
+    /**
+     * Configures a UDP multicast invalidation bus for multi-process clusters.
+     * @param group the multicast group address
+     * @param port the UDP port shared by all nodes
+     * @param networkInterface the network interface to join on, blank for the default
+     * @param timeToLive the multicast TTL
+     * @return the multicast InvalidationBus
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.cache.bus", havingValue = "multicast")
+    public InvalidationBus multicastInvalidationBus(
+            @Value("${bookstore.cache.multicast.group:239.255.27.1}") String group,
+            @Value("${bookstore.cache.multicast.port:4446}") int port,
+            @Value("${bookstore.cache.multicast.interface:}") String networkInterface,
+            @Value("${bookstore.cache.multicast.ttl:1}") int timeToLive) {
+        return new MulticastInvalidationBus(group, port, networkInterface, timeToLive);
+
+    }
+}
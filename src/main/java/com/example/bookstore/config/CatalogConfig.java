@@ -0,0 +1,44 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.catalog.BookCatalog;
+import com.example.bookstore.catalog.ColumnarBookCatalog;
+import com.example.bookstore.catalog.RepositoryBookCatalog;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.shard.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Catalog configuration for the Bookstore application.
+ * Selects the engine answering catalog searches.
+ */
+@Configuration
+public class CatalogConfig {
+
+    /**
+     * Configures the default engine, which queries the database for every search.
+     * @param bookRepo the repository to query
+     * @param shards the router scattering searches over the shards
+     * @return the repository-backed BookCatalog
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.catalog.engine", havingValue = "repository", matchIfMissing = true)
+    public BookCatalog repositoryBookCatalog(BookRepository bookRepo, ShardRouter shards) {
+        return new RepositoryBookCatalog(bookRepo, shards);
+
+    }
+
+    /**
+     * Configures the in-memory columnar engine for read-heavy deployments.
+     * @param bookRepo the repository the catalog is loaded from
+     * @param shards the router gathering the catalog from all shards
+     * @return the columnar BookCatalog
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.catalog.engine", havingValue = "columnar")
+    public ColumnarBookCatalog columnarBookCatalog(BookRepository bookRepo, ShardRouter shards) {
+        return new ColumnarBookCatalog(bookRepo, shards);
+
+    }
+}
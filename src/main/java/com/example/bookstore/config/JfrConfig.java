@@ -0,0 +1,55 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.monitoring.jfr.JfrHandlerInterceptor;
+import com.example.bookstore.monitoring.jfr.JfrMappingJackson2HttpMessageConverter;
+import com.example.bookstore.monitoring.jfr.JfrRecording;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Flight recorder configuration for the Bookstore application.
+ * Hooks the custom JFR events into Spring MVC and optionally keeps a recording running.
+ * The service and query events come from {@link com.example.bookstore.monitoring.jfr.JfrPhaseAspect},
+ * the authentication events from {@link SecurityConfig}.
+ */
+@Configuration
+public class JfrConfig implements WebMvcConfigurer {
+
+    /** * Registers the interceptor recording controller handler events.
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrHandlerInterceptor());
+
+    }
+
+    /** * Configures the JSON message converter, replacing Spring Boot's one with one that records serialization events.
+     * @param objectMapper the application's ObjectMapper
+     * @return the configured MappingJackson2HttpMessageConverter
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new JfrMappingJackson2HttpMessageConverter(objectMapper);
+
+    }
+
+    /** * Configures the always-on flight recording, dumpable with {@code jcmd <pid> JFR.dump name=bookstore}.
+     * @param maxAge how long recorded data is kept
+     * @return the running JfrRecording
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bookstore.jfr.recording.enabled", havingValue = "true")
+    public JfrRecording jfrRecording(@Value("${bookstore.jfr.recording.max-age:1h}") Duration maxAge) {
+        return new JfrRecording(maxAge);
+
+    }
+}
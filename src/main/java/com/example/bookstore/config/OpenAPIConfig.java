@@ -4,12 +4,15 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * Configuration class for OpenAPI (Swagger) documentation.
  * This class sets up the OpenAPI configuration for the Bookstore API.
+ * Documentation is not needed to serve requests, so it is only built when first asked for.
  */
 @Configuration
+@Lazy
 public class OpenAPIConfig {
 
     /**
@@ -1,8 +1,12 @@
 package com.example.bookstore.config;
 
+import com.example.bookstore.monitoring.jfr.JfrAuthenticationProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
@@ -46,6 +50,8 @@ public class SecurityConfig {
                         .requestMatchers("/h2-console/**").permitAll()
                         // Allow GET operations for all authenticated users
                         .requestMatchers(HttpMethod.GET, BOOKS_API_PATH).hasAnyRole("USER", ROLE_ADMIN)
+                        // Bulk lookups are reads even though the IDs travel in a POST body
+                        .requestMatchers(HttpMethod.POST, "/books/lookup").hasAnyRole("USER", ROLE_ADMIN)
                         // Restrict all other operations to ADMIN only
                         .requestMatchers(HttpMethod.POST, BOOKS_API_PATH).hasRole(ROLE_ADMIN)
                         .requestMatchers(HttpMethod.PUT, BOOKS_API_PATH).hasRole(ROLE_ADMIN)
@@ -67,21 +73,39 @@ public class SecurityConfig {
 
     }
 
+    /** * Configures the authentication provider, recording a JFR event for each authentication attempt.
+     * @param userDetailsService the user details service
+     * @param passwordEncoder the password encoder
+     * @return the configured AuthenticationProvider
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        return new JfrAuthenticationProvider(provider);
+
+    }
+
     /** * Configures the user details service for the application.
+     * Passwords are supplied already BCrypt-hashed so that startup does not pay for hashing them.
+     * @param userPasswordHash the BCrypt hash of the user's password
+     * @param adminPasswordHash the BCrypt hash of the admin's password
      * @return the configured UserDetailsService
      */
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsService userDetailsService(
+            @Value("${bookstore.security.user.password-hash}") String userPasswordHash,
+            @Value("${bookstore.security.admin.password-hash}") String adminPasswordHash) {
         // Create a user with the USER role
         UserDetails user = User.builder()
                 .username("user")
-                .password(passwordEncoder().encode("user123")) // Change this to a more secure password
+                .password(userPasswordHash) // Change this to a more secure password
                 .roles("USER")
                 .build();
         // Create an admin user with the ADMIN role
         UserDetails admin = User.builder()
                 .username("admin")
-                .password(passwordEncoder().encode("admin123")) // Change this to a more secure password
+                .password(adminPasswordHash) // Change this to a more secure password
                 .roles(ROLE_ADMIN)
                 .build();
         // Create an in-memory user details manager with the defined users
@@ -0,0 +1,98 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.shard.ShardRouter;
+import com.example.bookstore.shard.ShardRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding configuration for the Bookstore application.
+ * When {@code bookstore.sharding.enabled} is set, the books table is partitioned over several H2 databases.
+ */
+@Configuration
+public class ShardingConfig {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    /**
+     * Configures the router deciding which shard each book operation runs on.
+     * @param enabled whether sharding is enabled
+     * @param shards the number of shards
+     * @param strategy how new books are placed
+     * @param blockSize the size of the ID block owned by each shard
+     * @return the ShardRouter, routing everything inline when sharding is disabled
+     */
+    @Bean
+    public ShardRouter shardRouter(
+            @Value("${bookstore.sharding.enabled:false}") boolean enabled,
+            @Value("${bookstore.sharding.shards:2}") int shards,
+            @Value("${bookstore.sharding.strategy:range}") ShardRouter.Strategy strategy,
+            @Value("${bookstore.sharding.id-block-size:1000000000000}") long blockSize) {
+        if (!enabled) {
+            return ShardRouter.single();
+        }
+        logger.info("Sharding books over {} databases, placing new books by {}", shards, strategy);
+        return new ShardRouter(shards, strategy, blockSize);
+
+    }
+
+    /**
+     * Configures one database per shard behind a routing data source.
+     * Each shard gets the schema, and its ID sequence is moved to the start of its ID block.
+     * @param router the shard router
+     * @param properties the spring.datasource properties, used for the driver and credentials
+     * @param urlTemplate the JDBC URL of each shard, with {shard} replaced by the shard index
+     * @param openInView whether an EntityManager is held open for the whole request
+     * @return the routing DataSource
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "bookstore.sharding.enabled", havingValue = "true")
+    public ShardRoutingDataSource shardedDataSource(
+            ShardRouter router,
+            DataSourceProperties properties,
+            @Value("${bookstore.sharding.url-template:jdbc:h2:mem:bookstore-shard-{shard}}") String urlTemplate,
+            @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            // An open EntityManager keeps its first connection, which would pin the whole request to one shard
+            throw new IllegalStateException("Sharding requires spring.jpa.open-in-view=false");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            String url = urlTemplate.replace("{shard}", String.valueOf(shard));
+            DataSource dataSource = DataSourceBuilder.create()
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+            if (shard > 0) {
+                // Continue after existing rows when a file-backed shard is reopened
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM books", Long.class);
+                long nextId = Math.max(router.firstId(shard), maxId + 1);
+                jdbc.execute("ALTER TABLE books ALTER COLUMN id RESTART WITH " + nextId);
+            }
+            logger.info("Shard {} at {}", shard, url);
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.monitoring.sql.InspectingDataSource;
+import com.example.bookstore.monitoring.sql.StatementLogFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SQL inspection configuration for the Bookstore application.
+ * Times every statement sent to the database, logs slow ones and flags statements repeated within a request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.sql.inspection.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInspectionConfig {
+
+    /**
+     * Wraps each DataSource so that its statements are inspected.
+     * Static, so that it is registered before the DataSource beans are created.
+     * @param slowThreshold the duration from which statements are logged as slow
+     * @return the BeanPostProcessor wrapping DataSources
+     */
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor(
+            @Value("${bookstore.sql.slow-threshold:100ms}") Duration slowThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)) {
+                    return new InspectingDataSource(dataSource, slowThreshold);
+                }
+                return bean;
+            }
+        };
+
+    }
+
+    /**
+     * Configures the filter recording the statements of each request.
+     * @param repeatThreshold the number of executions from which a statement is flagged as repeated
+     * @return the StatementLogFilter
+     */
+    @Bean
+    public StatementLogFilter statementLogFilter(@Value("${bookstore.sql.repeat-threshold:2}") int repeatThreshold) {
+        return new StatementLogFilter(repeatThreshold);
+
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.monitoring.jfr.JfrRecording;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.sql.init.AbstractScriptDatabaseInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup configuration for the Bookstore application.
+ * Keeps beans that must run during startup eager when lazy initialization is enabled
+ * by the startup profile.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps schema.sql and data.sql running at startup; a lazy initializer would never be asked for.
+     * @return the LazyInitializationExcludeFilter for the database initializers
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerDatabaseInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AbstractScriptDatabaseInitializer.class);
+
+    }
+
+    /**
+     * Keeps the always-on flight recording starting with the application; nothing injects it,
+     * so a lazy recording would never start.
+     * @return the LazyInitializationExcludeFilter for the flight recording
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerFlightRecording() {
+        return LazyInitializationExcludeFilter.forBeanTypes(JfrRecording.class);
+
+    }
+}
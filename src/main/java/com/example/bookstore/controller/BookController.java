@@ -1,20 +1,29 @@
 // controller/BookController.java
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BookLookupRequest;
+import com.example.bookstore.dto.BookLookupResult;
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.dto.BookSummary;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.service.BookService;
+import com.example.bookstore.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.security.Principal;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller class for handling book-related operations.
@@ -30,23 +39,60 @@ public class BookController {
     // Service instance for handling book-related business logic
     private final BookService service;
 
-    // Constructor-based dependency injection for BookService
+    // Service instance for replaying retried writes
+    private final IdempotencyService idempotencyService;
+
+    // Constructor-based dependency injection for BookService and IdempotencyService
     @Autowired
-    public BookController(BookService service) {
+    public BookController(BookService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
 
     }
 
     /**
      * Retrieves a list of all books in the system.
+     * When fields are given, only those fields are read and returned for each book.
      *
-     * @return List of all books
+     * @param fields Optional subset of fields to return
+     * @return List of all books, or of the requested fields of all books
      */
-    @Operation(summary = "Get all books", description = "Retrieves a list of all books in the system")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of books")
+    @Operation(summary = "Get all books", description = "Retrieves a list of all books in the system, optionally limited to the given fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of books"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    })
     @GetMapping
-    public List<Book> getBooks() {
-        return service.getAllBooks();
+    public List<?> getBooks(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title") @RequestParam(required = false) Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return service.getAllBooks();
+        }
+        if (fields.equals(BookSummary.FIELDS)) {
+            return service.getBookSummaries();
+        }
+        return service.getBookFields(fields);
+
+    }
+
+    /**
+     * Searches books by author and price range, cheapest first.
+     *
+     * @param author   Exact author to match
+     * @param minPrice Lowest price to include
+     * @param maxPrice Highest price to include
+     * @param limit    Maximum number of books to return
+     * @return The matching books in price order
+     */
+    @Operation(summary = "Search books", description = "Finds books by author and price range, cheapest first")
+    @ApiResponse(responseCode = "200", description = "Successfully searched the books")
+    @GetMapping("/search")
+    public List<BookRow> searchBooks(
+            @Parameter(description = "Exact author to match") @RequestParam(required = false) String author,
+            @Parameter(description = "Lowest price to include") @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Highest price to include") @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Maximum number of books to return (at most 1000)") @RequestParam(defaultValue = "100") int limit) {
+        return service.searchBooks(author, minPrice, maxPrice, limit);
 
     }
 
@@ -69,23 +115,74 @@ public class BookController {
 
     }
 
+    /**
+     * Retrieves many books by their IDs in one call.
+     *
+     * @param ids IDs of the books to retrieve
+     * @return The books found in the requested order, and the IDs that were not found
+     */
+    @Operation(summary = "Get books by IDs", description = "Retrieves many books in one call, reporting IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the books"),
+            @ApiResponse(responseCode = "400", description = "Blank ID or more than 1000 IDs")
+    })
+    @GetMapping(params = "ids")
+    public BookLookupResult getBooksByIds(
+            @Parameter(description = "Comma-separated IDs of the books to retrieve (at most 1000)")
+            @RequestParam @Size(max = BookLookupRequest.MAX_IDS, message = "At most 1000 ids can be looked up at once")
+            List<@NotNull(message = "Ids must not be blank") Long> ids) {
+        logger.info("{} books requested by ID", ids.size());
+        return service.getBooks(ids);
+
+    }
+
+    /**
+     * Retrieves many books by the IDs in the request body, for lists too long for a query string.
+     *
+     * @param request The IDs of the books to retrieve
+     * @return The books found in the requested order, and the IDs that were not found
+     */
+    @Operation(summary = "Look up books by IDs", description = "Retrieves many books in one call, reporting IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the books"),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    @PostMapping("/lookup")
+    public BookLookupResult lookupBooks(
+            @Parameter(description = "IDs of the books to retrieve") @RequestBody @Valid BookLookupRequest request) {
+        logger.info("{} books looked up by ID", request.ids().size());
+        return service.getBooks(request.ids());
+
+    }
+
     /**
      * Adds a new book to the system.
+     * Retries carrying the same idempotency key get the first response back instead of a duplicate book.
      *
-     * @param book The book object to be added
+     * @param book           The book object to be added
+     * @param idempotencyKey Optional client-chosen key identifying this create request
+     * @param principal      The authenticated caller, used to scope the key
      * @return The added book
      */
     @Operation(summary = "Create a new book", description = "Adds a new book to the system")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Book successfully created"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "422", description = "Idempotency key reused for a different book")
     })
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Book addBook(
-            @Parameter(description = "Book object to be added") @RequestBody @Valid Book book) {
+            @Parameter(description = "Book object to be added") @RequestBody @Valid Book book,
+            @Parameter(description = "Key making retries of this request safe") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
         logger.info("Book {} added", book);
-        return service.addBook(book);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return service.addBook(book);
+        }
+        String fingerprint = book.getTitle() + '\0' + book.getAuthor() + '\0' + book.getPrice();
+        return idempotencyService.execute(principal.getName() + ':' + idempotencyKey, fingerprint,
+                () -> service.addBook(book));
 
     }
 
@@ -0,0 +1,23 @@
+// dto/BookLookupRequest.java
+package com.example.bookstore.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for fetching many books by ID in one call.
+ *
+ * @param ids the IDs of the books to fetch, in the order they should be returned
+ */
+public record BookLookupRequest(
+        @NotEmpty(message = "Ids are mandatory")
+        @Size(max = BookLookupRequest.MAX_IDS, message = "At most 1000 ids can be looked up at once")
+        List<@NotNull(message = "Ids must not be blank") Long> ids) {
+
+    /** Largest number of IDs accepted in one lookup, by either endpoint. */
+    public static final int MAX_IDS = 1000;
+
+}
@@ -0,0 +1,15 @@
+// dto/BookLookupResult.java
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Book;
+
+import java.util.List;
+
+/**
+ * Result of fetching many books by ID.
+ *
+ * @param books   the books found, in the order their IDs were requested
+ * @param missing the requested IDs for which no book exists
+ */
+public record BookLookupResult(List<Book> books, List<Long> missing) {
+}
@@ -0,0 +1,14 @@
+// dto/BookRow.java
+package com.example.bookstore.dto;
+
+/**
+ * Read-only copy of one book's fields, returned by catalog searches.
+ * Unlike {@link com.example.bookstore.model.Book} it is never managed by the persistence context.
+ *
+ * @param id     the unique identifier of the book
+ * @param title  the title of the book
+ * @param author the author of the book
+ * @param price  the price of the book
+ */
+public record BookRow(Long id, String title, String author, double price) {
+}
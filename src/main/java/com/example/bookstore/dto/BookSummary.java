@@ -0,0 +1,18 @@
+// dto/BookSummary.java
+package com.example.bookstore.dto;
+
+import java.util.Set;
+
+/**
+ * Slim, read-only view of a book used by list views.
+ * Instances are built directly by the query and are never managed by the persistence context.
+ *
+ * @param id    the unique identifier of the book
+ * @param title the title of the book
+ */
+public record BookSummary(Long id, String title) {
+
+    /** The fields covered by this projection. */
+    public static final Set<String> FIELDS = Set.of("id", "title");
+
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +28,36 @@ public class CustomExceptionHandler {
 
     }
 
+    /** * Handles InvalidFieldsException.
+     * @param ex the exception
+     * @return a ResponseEntity with a BAD_REQUEST status and the exception message
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<String> handleInvalidFields(InvalidFieldsException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+
+    }
+
+    /** * Handles IdempotencyKeyConflictException.
+     * @param ex the exception
+     * @return a ResponseEntity with an UNPROCESSABLE_ENTITY status and the exception message
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<String> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+
+    }
+
+    /** * Handles IdempotencyKeyInProgressException.
+     * @param ex the exception
+     * @return a ResponseEntity with a CONFLICT status and the exception message
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<String> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+
+    }
+
     /** * Handles MethodArgumentNotValidException.
      * @param ex the exception
      * @return a ResponseEntity with a BAD_REQUEST status and a map of field errors
@@ -40,4 +71,19 @@ public class CustomExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
 
     }
+
+    /** * Handles HandlerMethodValidationException, raised for invalid request parameters.
+     * @param ex the exception
+     * @return a ResponseEntity with a BAD_REQUEST status and a map of parameter errors
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, String>> handleParameterValidation(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getAllValidationResults().forEach(result ->
+                result.getResolvableErrors().forEach(error ->
+                        errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()))
+        );
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+
+    }
 }
@@ -0,0 +1,19 @@
+// exception/IdempotencyKeyConflictException.java
+package com.example.bookstore.exception;
+
+/**
+ * Custom exception to be thrown when an idempotency key is reused for a different request.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    /**
+     * Constructor for IdempotencyKeyConflictException.
+     *
+     * @param key the idempotency key that was reused
+     */
+    public IdempotencyKeyConflictException(String key) {
+        // Call the superclass constructor with a message naming the key
+        super("Idempotency key already used for a different request: " + key);
+
+    }
+}
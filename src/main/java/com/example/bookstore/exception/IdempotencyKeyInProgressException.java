@@ -0,0 +1,20 @@
+// exception/IdempotencyKeyInProgressException.java
+package com.example.bookstore.exception;
+
+/**
+ * Custom exception to be thrown when a request with an idempotency key is still running after a retry
+ * with the same key has waited as long as it may.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    /**
+     * Constructor for IdempotencyKeyInProgressException.
+     *
+     * @param key the idempotency key whose first request is still running
+     */
+    public IdempotencyKeyInProgressException(String key) {
+        // Call the superclass constructor with a message naming the key
+        super("A request with this idempotency key is still in progress, retry later: " + key);
+
+    }
+}
@@ -0,0 +1,22 @@
+// exception/InvalidFieldsException.java
+package com.example.bookstore.exception;
+
+import java.util.Collection;
+
+/**
+ * Custom exception to be thrown when a request asks for fields that cannot be projected.
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    /**
+     * Constructor for InvalidFieldsException.
+     *
+     * @param fields  the unknown fields that were requested
+     * @param allowed the fields that may be requested
+     */
+    public InvalidFieldsException(Collection<String> fields, Collection<String> allowed) {
+        // Call the superclass constructor with a message listing the rejected and allowed fields
+        super("Unknown fields " + fields + ", allowed fields are " + allowed);
+
+    }
+}
@@ -0,0 +1,66 @@
+// monitoring/FirstRequestTimer.java
+package com.example.bookstore.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures time-to-first-request: the time from JVM start until the first HTTP response has been written.
+ * This is what a newly autoscaled instance costs before it is useful, so it is published as the
+ * {@code bookstore.startup.time-to-first-request} gauge alongside Spring Boot's own startup metrics.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    // Registry receiving the gauge once the first request completes
+    private final MeterRegistry meterRegistry;
+
+    // Set by the first request to complete
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    /**
+     * Constructor for FirstRequestTimer.
+     *
+     * @param meterRegistry The registry receiving the time-to-first-request gauge.
+     */
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!recorded.get() && recorded.compareAndSet(false, true)) {
+                long millis = ManagementFactory.getRuntimeMXBean().getUptime();
+                TimeGauge.builder("bookstore.startup.time-to-first-request", () -> millis, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until the first HTTP response was written")
+                        .register(meterRegistry);
+                logger.info("Time to first request: {} ms ({} {})", millis, request.getMethod(), request.getRequestURI());
+            }
+        }
+
+    }
+}
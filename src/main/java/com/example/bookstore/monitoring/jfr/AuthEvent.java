@@ -0,0 +1,28 @@
+// monitoring/jfr/AuthEvent.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one authentication attempt, including password hash verification.
+ */
+@Name("com.example.bookstore.Auth")
+@Label("Authentication")
+@Description("Authentication of a request's credentials")
+@Category("Bookstore")
+@StackTrace(false)
+public class AuthEvent extends jdk.jfr.Event {
+
+    /** The username presented. */
+    @Label("Principal")
+    public String principal;
+
+    /** Whether the credentials were accepted. */
+    @Label("Authenticated")
+    public boolean authenticated;
+
+}
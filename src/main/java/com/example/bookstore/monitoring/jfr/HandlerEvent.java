@@ -0,0 +1,45 @@
+// monitoring/jfr/HandlerEvent.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one controller handler invocation, from dispatch until the response is complete.
+ * Service, query and serialization events of the request are nested inside it.
+ */
+@Name("com.example.bookstore.Handler")
+@Label("Controller Handler")
+@Description("Controller handler invocation, including writing the response body")
+@Category("Bookstore")
+@StackTrace(false)
+public class HandlerEvent extends jdk.jfr.Event {
+
+    /** The HTTP method. */
+    @Label("Method")
+    public String method;
+
+    /** The request URI. */
+    @Label("URI")
+    public String uri;
+
+    /** The controller method handling the request. */
+    @Label("Handler")
+    public String handler;
+
+    /** The authenticated principal, if any. */
+    @Label("Principal")
+    public String principal;
+
+    /** The book ID from the path, or 0 if there is none. */
+    @Label("Book ID")
+    public long bookId;
+
+    /** The HTTP response status. */
+    @Label("Status")
+    public int status;
+
+}
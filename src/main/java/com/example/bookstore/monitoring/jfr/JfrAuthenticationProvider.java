@@ -0,0 +1,50 @@
+// monitoring/jfr/JfrAuthenticationProvider.java
+package com.example.bookstore.monitoring.jfr;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * AuthenticationProvider that records an {@link AuthEvent} around another provider.
+ */
+public class JfrAuthenticationProvider implements AuthenticationProvider {
+
+    // Provider doing the actual authentication
+    private final AuthenticationProvider delegate;
+
+    /**
+     * Constructor for JfrAuthenticationProvider.
+     *
+     * @param delegate The provider doing the actual authentication.
+     */
+    public JfrAuthenticationProvider(AuthenticationProvider delegate) {
+        this.delegate = delegate;
+
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        AuthEvent event = new AuthEvent();
+        event.begin();
+        Authentication result = null;
+        try {
+            result = delegate.authenticate(authentication);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.principal = authentication.getName();
+                event.authenticated = result != null && result.isAuthenticated();
+                event.commit();
+            }
+        }
+
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+
+    }
+}
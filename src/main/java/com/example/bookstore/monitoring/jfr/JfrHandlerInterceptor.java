@@ -0,0 +1,62 @@
+// monitoring/jfr/JfrHandlerInterceptor.java
+package com.example.bookstore.monitoring.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * HandlerInterceptor that records a {@link HandlerEvent} for each controller invocation.
+ */
+public class JfrHandlerInterceptor implements HandlerInterceptor {
+
+    // Request attribute holding the event of the request in progress
+    private static final String EVENT_ATTRIBUTE = JfrHandlerInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HandlerEvent event = new HandlerEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof HandlerEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.uri = request.getRequestURI();
+            event.handler = handler instanceof HandlerMethod method ? method.getShortLogMessage() : String.valueOf(handler);
+            event.principal = request.getUserPrincipal() == null ? null : request.getUserPrincipal().getName();
+            event.bookId = pathBookId(request);
+            event.status = response.getStatus();
+            event.commit();
+        }
+
+    }
+
+    // Reads the {id} path variable, or 0 if the request has none
+    private static long pathBookId(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+
+    }
+}
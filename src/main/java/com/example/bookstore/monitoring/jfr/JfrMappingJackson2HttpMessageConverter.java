@@ -0,0 +1,44 @@
+// monitoring/jfr/JfrMappingJackson2HttpMessageConverter.java
+package com.example.bookstore.monitoring.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON message converter that records a {@link SerializationEvent} for each response body it writes.
+ */
+public class JfrMappingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Constructor for JfrMappingJackson2HttpMessageConverter.
+     *
+     * @param objectMapper The application's ObjectMapper.
+     */
+    public JfrMappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object == null ? null : object.getClass().getName();
+                event.rows = JfrSupport.rows(object);
+                event.commit();
+            }
+        }
+
+    }
+}
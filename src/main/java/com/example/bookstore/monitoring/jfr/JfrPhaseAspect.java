@@ -0,0 +1,77 @@
+// monitoring/jfr/JfrPhaseAspect.java
+package com.example.bookstore.monitoring.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect recording {@link ServiceEvent}s around BookService calls and {@link QueryEvent}s around
+ * BookRepository calls.
+ */
+@Aspect
+@Component
+public class JfrPhaseAspect {
+
+    /**
+     * Records a service event around each public BookService method.
+     *
+     * @param joinPoint the service call
+     * @return the result of the call
+     * @throws Throwable whatever the call throws
+     */
+    @Around("execution(public * com.example.bookstore.service.BookService.*(..))")
+    public Object recordService(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceEvent event = new ServiceEvent();
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.principal = JfrSupport.principal();
+                event.bookId = JfrSupport.bookId(joinPoint.getArgs());
+                event.rows = JfrSupport.rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+
+    }
+
+    /**
+     * Records a query event around each BookRepository method, including inherited ones.
+     *
+     * @param joinPoint the repository call
+     * @return the result of the call
+     * @throws Throwable whatever the call throws
+     */
+    @Around("execution(* com.example.bookstore.repository.BookRepository+.*(..))")
+    public Object recordQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.query = joinPoint.getSignature().getName();
+                event.bookId = JfrSupport.bookId(joinPoint.getArgs());
+                event.rows = JfrSupport.rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,71 @@
+// monitoring/jfr/JfrRecording.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Continuous in-process flight recording using the JDK's default settings plus the bundled
+ * {@code jfr/bookstore.jfc} profile. The recording is kept as a rolling buffer and can be dumped at any time
+ * with {@code jcmd <pid> JFR.dump name=bookstore filename=bookstore.jfr}.
+ */
+public class JfrRecording implements AutoCloseable {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecording.class);
+
+    /** Name of the recording, used with jcmd. */
+    public static final String NAME = "bookstore";
+
+    // Location of the bundled recording profile on the classpath
+    private static final String PROFILE = "jfr/bookstore.jfc";
+
+    // The running recording
+    private final Recording recording;
+
+    /**
+     * Starts the recording.
+     *
+     * @param maxAge How long recorded data is kept.
+     */
+    public JfrRecording(Duration maxAge) {
+        Map<String, String> settings = new HashMap<>();
+        try (Reader profile = new InputStreamReader(new ClassPathResource(PROFILE).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(profile).getSettings());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + PROFILE, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid recording profile " + PROFILE, e);
+        }
+        this.recording = new Recording(settings);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.start();
+        logger.info("Started flight recording '{}' keeping {}", NAME, maxAge);
+
+    }
+
+    /**
+     * Stops and discards the recording.
+     */
+    @Override
+    public void close() {
+        recording.close();
+
+    }
+}
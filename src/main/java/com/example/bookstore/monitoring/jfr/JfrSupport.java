@@ -0,0 +1,53 @@
+// monitoring/jfr/JfrSupport.java
+package com.example.bookstore.monitoring.jfr;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Helpers for filling in event fields. They are only called once an event is known to be committed,
+ * so they cost nothing while no recording is running.
+ */
+final class JfrSupport {
+
+    private JfrSupport() {
+    }
+
+    // Returns the name of the authenticated principal, or null
+    static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+
+    }
+
+    // Returns the first Long argument, which is the book ID for every ID-based operation, or 0
+    static long bookId(Object[] args) {
+        return args.length > 0 && args[0] instanceof Long id ? id : 0;
+
+    }
+
+    // Counts the rows in a result: elements of a collection or map, 0 or 1 for a single value
+    static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean found) {
+            return found ? 1 : 0;
+        }
+        return 1;
+
+    }
+}
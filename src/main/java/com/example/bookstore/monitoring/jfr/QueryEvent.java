@@ -0,0 +1,36 @@
+// monitoring/jfr/QueryEvent.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one repository call, i.e. the SQL it runs and the mapping of its results.
+ */
+@Name("com.example.bookstore.Query")
+@Label("Repository Query")
+@Description("Call into BookRepository")
+@Category("Bookstore")
+@StackTrace(false)
+public class QueryEvent extends jdk.jfr.Event {
+
+    /** The repository method called. */
+    @Label("Query")
+    public String query;
+
+    /** The book ID passed to the call, or 0 if there is none. */
+    @Label("Book ID")
+    public long bookId;
+
+    /** The number of rows returned. */
+    @Label("Rows")
+    public int rows;
+
+    /** Whether the call threw an exception. */
+    @Label("Failed")
+    public boolean failed;
+
+}
@@ -0,0 +1,28 @@
+// monitoring/jfr/SerializationEvent.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the JSON serialization of one response body.
+ */
+@Name("com.example.bookstore.Serialization")
+@Label("JSON Serialization")
+@Description("Jackson serialization of a response body")
+@Category("Bookstore")
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    /** The type of the serialized value. */
+    @Label("Type")
+    public String type;
+
+    /** The number of elements, for collections. */
+    @Label("Rows")
+    public int rows;
+
+}
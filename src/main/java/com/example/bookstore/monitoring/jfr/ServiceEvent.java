@@ -0,0 +1,40 @@
+// monitoring/jfr/ServiceEvent.java
+package com.example.bookstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one call into the book service.
+ */
+@Name("com.example.bookstore.Service")
+@Label("Service Call")
+@Description("Call into BookService, including cache and repository access")
+@Category("Bookstore")
+@StackTrace(false)
+public class ServiceEvent extends jdk.jfr.Event {
+
+    /** The service method called. */
+    @Label("Operation")
+    public String operation;
+
+    /** The authenticated principal, if any. */
+    @Label("Principal")
+    public String principal;
+
+    /** The book ID passed to the call, or 0 if there is none. */
+    @Label("Book ID")
+    public long bookId;
+
+    /** The number of rows returned. */
+    @Label("Rows")
+    public int rows;
+
+    /** Whether the call threw an exception. */
+    @Label("Failed")
+    public boolean failed;
+
+}
@@ -0,0 +1,182 @@
+// monitoring/sql/InspectingDataSource.java
+package com.example.bookstore.monitoring.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DataSource that times every statement executed through its connections.
+ * <p>
+ * Each statement is recorded in the open {@link StatementLog}s of the executing thread, and statements
+ * slower than the threshold are logged with their bind parameters. Connections and statements are
+ * wrapped in JDK proxies, so nothing changes for the callers and the JDBC driver.
+ */
+public class InspectingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(InspectingDataSource.class);
+
+    // Connection methods returning a statement that will be executed later
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    // Statements at least this slow are logged
+    private final long slowThresholdNanos;
+
+    /**
+     * Constructor for InspectingDataSource.
+     *
+     * @param target        The data source handing out the real connections.
+     * @param slowThreshold The duration from which statements are logged as slow.
+     */
+    public InspectingDataSource(DataSource target, Duration slowThreshold) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+
+    }
+
+    /**
+     * Closes the target data source, if it can be closed.
+     *
+     * @throws Exception if the target fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+
+    }
+
+    // Wraps a connection so that the statements it creates are inspected
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                new Handler(connection) {
+                    @Override
+                    Object invoke(Object proxy, Method method, Object[] args, Object target) throws Throwable {
+                        Object result = method.invoke(target, args);
+                        if (STATEMENT_FACTORIES.contains(method.getName())) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                            return wrap((Statement) result, method.getReturnType(), sql);
+                        }
+                        return result;
+                    }
+                });
+
+    }
+
+    // Wraps a statement so that its executions are timed and recorded with their bind parameters
+    private Statement wrap(Statement statement, Class<?> type, String preparedSql) {
+        List<Object> parameters = new ArrayList<>();
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                new Handler(statement) {
+                    @Override
+                    Object invoke(Object proxy, Method method, Object[] args, Object target) throws Throwable {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            bind(parameters, index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute")) {
+                            String sql = preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+                            return execute(method, args, target, sql, parameters);
+                        }
+                        return method.invoke(target, args);
+                    }
+                });
+
+    }
+
+    // Runs a statement execution, then records and possibly logs it
+    private Object execute(Method method, Object[] args, Object target, String sql, List<Object> parameters)
+            throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return method.invoke(target, args);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            SqlStatement statement = new SqlStatement(sql, Collections.unmodifiableList(Arrays.asList(parameters.toArray())), nanos);
+            StatementLog.record(statement);
+            if (nanos >= slowThresholdNanos) {
+                logger.warn("Slow SQL ({} ms): {} with parameters {}", Duration.ofNanos(nanos).toMillis(), sql, statement.parameters());
+            } else {
+                logger.trace("SQL ({} µs): {} with parameters {}", nanos / 1000, sql, statement.parameters());
+            }
+        }
+
+    }
+
+    // Stores a bind parameter at its 1-based index
+    private static void bind(List<Object> parameters, int index, Object value) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+
+    }
+
+    /**
+     * Base of the JDBC proxies: forwards calls to the target, keeps identity semantics for the proxy
+     * itself and rethrows the target's exceptions unchanged.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        // The wrapped JDBC object
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Inspecting " + target;
+                default:
+                    break;
+            }
+            try {
+                return invoke(proxy, method, args, target);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+        }
+
+        abstract Object invoke(Object proxy, Method method, Object[] args, Object target) throws Throwable;
+    }
+}
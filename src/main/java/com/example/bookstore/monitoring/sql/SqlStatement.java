@@ -0,0 +1,34 @@
+// monitoring/sql/SqlStatement.java
+package com.example.bookstore.monitoring.sql;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One statement sent to the database.
+ *
+ * @param sql            The SQL text, with {@code ?} placeholders for prepared statements.
+ * @param parameters     The bind parameters by position, null where none was set.
+ * @param durationNanos  How long the database took to execute it.
+ */
+public record SqlStatement(String sql, List<Object> parameters, long durationNanos) {
+
+    // A SELECT of one row by primary key, e.g. "select ... from books b1_0 where b1_0.id=?"; captures the table
+    private static final Pattern SELECT_BY_ID = Pattern.compile(
+            "^\\s*select\\b.*?\\bfrom\\s+([\\w.\"]+)(?:\\s+(?:as\\s+)?(?!where\\b)\\w+)?\\s+where\\s+(?:\\w+\\.)?id\\s*=\\s*\\?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * Describes which row a primary-key lookup reads, as its table and ID, e.g. {@code books [42]}.
+     * Different queries for the same row, such as a count before loading the entity, share a read target.
+     * Other SELECTs have none, since their bind parameters alone do not tell which rows they read.
+     *
+     * @return the read target, or null if the statement is not a SELECT by ID
+     */
+    public String readTarget() {
+        Matcher matcher = SELECT_BY_ID.matcher(sql);
+        return matcher.find() ? matcher.group(1).toLowerCase() + " " + parameters : null;
+
+    }
+}
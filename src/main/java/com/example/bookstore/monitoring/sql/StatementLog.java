@@ -0,0 +1,192 @@
+// monitoring/sql/StatementLog.java
+package com.example.bookstore.monitoring.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Statements executed on the current thread between {@link #open()} and {@link #close()}.
+ * <p>
+ * Logs nest: a statement is recorded in every log open on the thread, so a test can count the statements
+ * of a request that also has its own log. Work handed to other threads, such as the parts of a sharded
+ * query, is recorded too when it runs {@link #recordingInto(StatementLog, Supplier) recording into} the
+ * log of the thread that handed it over; logs therefore accept statements from several threads.
+ */
+public final class StatementLog implements AutoCloseable {
+
+    // Innermost open log of each thread
+    private static final ThreadLocal<StatementLog> CURRENT = new ThreadLocal<>();
+
+    // Log that was open when this one was opened
+    private final StatementLog parent;
+
+    // Statements in execution order; appended to by every thread recording into this log
+    private final List<SqlStatement> statements = Collections.synchronizedList(new ArrayList<>());
+
+    // Whether the log has been closed
+    private boolean closed;
+
+    // Creates a log nested in the given one
+    private StatementLog(StatementLog parent) {
+        this.parent = parent;
+
+    }
+
+    /**
+     * Opens a log on the current thread; close it on the same thread.
+     *
+     * @return The new log.
+     */
+    public static StatementLog open() {
+        StatementLog log = new StatementLog(CURRENT.get());
+        CURRENT.set(log);
+        return log;
+
+    }
+
+    /**
+     * Returns the innermost log open on the current thread, to be handed to work run on other threads.
+     *
+     * @return The current log, or null if none is open.
+     */
+    public static StatementLog current() {
+        return CURRENT.get();
+
+    }
+
+    /**
+     * Runs an action on the current thread recording its statements into the given log and its enclosing logs,
+     * as if it ran on the thread that opened the log.
+     *
+     * @param log    The log to record into, or null to record nothing.
+     * @param action The action to run.
+     * @param <T>    The result type.
+     * @return The result of the action.
+     */
+    public static <T> T recordingInto(StatementLog log, Supplier<T> action) {
+        StatementLog previous = CURRENT.get();
+        if (log == null || log == previous) {
+            return action.get();
+        }
+        CURRENT.set(log);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+
+    }
+
+    /**
+     * Records a statement in every log open on the current thread.
+     *
+     * @param statement The executed statement.
+     */
+    static void record(SqlStatement statement) {
+        for (StatementLog log = CURRENT.get(); log != null; log = log.parent) {
+            log.statements.add(statement);
+        }
+
+    }
+
+    /**
+     * Returns the number of statements recorded.
+     *
+     * @return The statement count.
+     */
+    public int count() {
+        return statements.size();
+
+    }
+
+    /**
+     * Returns the total time the database spent on the recorded statements.
+     *
+     * @return The total duration in nanoseconds.
+     */
+    public long totalNanos() {
+        long total = 0;
+        for (SqlStatement statement : statements()) {
+            total += statement.durationNanos();
+        }
+        return total;
+
+    }
+
+    /**
+     * Returns the recorded statements.
+     *
+     * @return The statements in execution order.
+     */
+    public List<SqlStatement> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+
+    }
+
+    /**
+     * Finds statements that were executed more than once with the same SQL text, which is the mark of an
+     * N+1 pattern. Different SQL reading the same rows is found by {@link #repeatedReads(int)} instead.
+     *
+     * @param threshold The number of executions from which a statement counts as repeated.
+     * @return The number of executions of each repeated SQL text, in order of first execution.
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (SqlStatement statement : statements()) {
+            counts.merge(statement.sql(), 1, Integer::sum);
+        }
+        counts.values().removeIf(count -> count < threshold);
+        return counts;
+
+    }
+
+    /**
+     * Finds rows that were read more than once by ID, by the same or different SELECTs, for example an
+     * {@code existsById} check followed by a save that loads the entity again.
+     *
+     * @param threshold The number of reads from which rows count as read repeatedly.
+     * @return The number of reads of each {@link SqlStatement#readTarget() read target}, in order of first read.
+     */
+    public Map<String, Integer> repeatedReads(int threshold) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (SqlStatement statement : statements()) {
+            String target = statement.readTarget();
+            if (target != null) {
+                counts.merge(target, 1, Integer::sum);
+            }
+        }
+        counts.values().removeIf(count -> count < threshold);
+        return counts;
+
+    }
+
+    /**
+     * Closes the log, making the enclosing log current again.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Statement logs must be closed in reverse order of opening");
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+
+    }
+}
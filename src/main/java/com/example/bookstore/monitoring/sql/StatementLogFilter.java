@@ -0,0 +1,63 @@
+// monitoring/sql/StatementLogFilter.java
+package com.example.bookstore.monitoring.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the statements of each request and flags statements and reads repeated within it.
+ * <p>
+ * The same SQL executed several times in one request is usually an N+1 pattern (one query per row of an
+ * earlier result). The same row read by ID in several SELECTs, such as an existence check followed by a load,
+ * is a lookup that could have been done once. Both cost a round trip each.
+ */
+public class StatementLogFilter extends OncePerRequestFilter {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(StatementLogFilter.class);
+
+    // Number of executions from which a statement is flagged as repeated
+    private final int repeatThreshold;
+
+    /**
+     * Constructor for StatementLogFilter.
+     *
+     * @param repeatThreshold The number of executions from which a statement is flagged as repeated.
+     */
+    public StatementLogFilter(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementLog log = StatementLog.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            log.close();
+            if (log.count() > 0) {
+                logger.debug("{} SQL statements in {} ms for {} {}", log.count(), log.totalNanos() / 1_000_000,
+                        request.getMethod(), request.getRequestURI());
+            }
+            Map<String, Integer> repeated = log.repeated(repeatThreshold);
+            if (!repeated.isEmpty()) {
+                logger.warn("Repeated SQL in {} {}: {}", request.getMethod(), request.getRequestURI(), repeated);
+            }
+            Map<String, Integer> repeatedReads = log.repeatedReads(repeatThreshold);
+            if (!repeatedReads.isEmpty()) {
+                logger.warn("Same rows read repeatedly in {} {}: {}", request.getMethod(), request.getRequestURI(), repeatedReads);
+            }
+        }
+
+    }
+}
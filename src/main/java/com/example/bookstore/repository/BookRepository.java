@@ -1,16 +1,75 @@
 // repository/BookRepository.java
 package com.example.bookstore.repository;
 
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.dto.BookSummary;
 import com.example.bookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Book entity.
- * This interface extends JpaRepository to provide CRUD operations.
+ * This interface extends JpaRepository to provide CRUD operations,
+ * plus read-only projections for list views.
  */
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    /**
+     * Reads the ID and title of every book as unmanaged summaries, ordered by ID.
+     *
+     * @return List of book summaries.
+     */
+    @Query("select new com.example.bookstore.dto.BookSummary(b.id, b.title) from Book b order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BookSummary> findAllSummaries();
+
+    /**
+     * Reads the books with the given IDs using a single {@code IN} query.
+     *
+     * @param ids The IDs to look up.
+     * @return The books found, in no particular order.
+     */
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Reads every book as an unmanaged row, cheapest first.
+     *
+     * @return List of all book rows ordered by price, then ID.
+     */
+    @Query("select new com.example.bookstore.dto.BookRow(b.id, b.title, b.author, b.price) from Book b order by b.price, b.id")
+    List<BookRow> findAllRows();
+
+    /**
+     * Reads one book as an unmanaged row.
+     *
+     * @param id The ID of the book.
+     * @return The book row, or empty if there is no such book.
+     */
+    @Query("select new com.example.bookstore.dto.BookRow(b.id, b.title, b.author, b.price) from Book b where b.id = :id")
+    Optional<BookRow> findRowById(Long id);
 
-    // No additional methods defined in this interface
-    // JpaRepository provide common database access functionality
+    /**
+     * Reads the books matching all non-null criteria as unmanaged rows, cheapest first.
+     *
+     * @param author   The exact author to match, or null for any author.
+     * @param minPrice The lowest price to include, or null for no lower bound.
+     * @param maxPrice The highest price to include, or null for no upper bound.
+     * @param pageable The page of results to return.
+     * @return The matching book rows ordered by price, then ID.
+     */
+    @Query("select new com.example.bookstore.dto.BookRow(b.id, b.title, b.author, b.price) from Book b"
+            + " where (:author is null or b.author = :author)"
+            + " and (:minPrice is null or b.price >= :minPrice)"
+            + " and (:maxPrice is null or b.price <= :maxPrice)"
+            + " order by b.price, b.id")
+    List<BookRow> searchRows(String author, Double minPrice, Double maxPrice, Pageable pageable);
 
 }
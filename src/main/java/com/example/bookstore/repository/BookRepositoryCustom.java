@@ -0,0 +1,20 @@
+// repository/BookRepositoryCustom.java
+package com.example.bookstore.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for queries that Spring Data cannot derive.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Reads only the given columns of every book as unmanaged tuples, ordered by ID.
+     *
+     * @param fields the entity attributes to select, in output order
+     * @return one map per book, keyed by field name
+     */
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+}
@@ -0,0 +1,61 @@
+// repository/BookRepositoryImpl.java
+package com.example.bookstore.repository;
+
+import com.example.bookstore.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link BookRepositoryCustom} using the JPA Criteria API.
+ */
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    // Entity manager shared with the Spring Data repository
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     * Selecting scalar columns into a tuple skips entity hydration, so no snapshot is kept for dirty checking.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList();
+        query.multiselect(selections).orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(BookRepositoryImpl::toMap)
+                .toList();
+
+    }
+
+    // Copies a tuple into a map keyed by the selection aliases, keeping the selection order
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+
+    }
+}
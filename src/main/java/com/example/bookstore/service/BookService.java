@@ -1,15 +1,36 @@
 // service/BookService.java
 package com.example.bookstore.service;
 
+import com.example.bookstore.cache.BookEvent;
+import com.example.bookstore.cache.InvalidationBus;
+import com.example.bookstore.catalog.BookCatalog;
+import com.example.bookstore.config.CacheConfig;
+import com.example.bookstore.dto.BookLookupResult;
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.dto.BookSummary;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.exception.InvalidFieldsException;
+import com.example.bookstore.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Service class for managing books.
@@ -20,41 +41,199 @@ public class BookService {
     // Logger instance for logging information and errors
     private static final Logger logger = LoggerFactory.getLogger(BookService.class);
 
+    // Fields that can be selected through a projection, in output order
+    private static final List<String> PROJECTABLE_FIELDS = List.of("id", "title", "author", "price");
+
+    // Largest number of IDs sent in one IN query
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    // Largest number of books returned by one search
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
+    // Number of invalidation generation counters; book IDs share them by hash
+    private static final int INVALIDATION_STRIPES = 64;
+
     // Repository instance for accessing book data
     private final BookRepository bookRepo;
 
+    // Router sending each repository call to the shard(s) holding the data
+    private final ShardRouter shards;
+
+    // Per-node cache of books by ID, kept coherent through the invalidation bus
+    private final Cache bookCache;
+
+    // Bus used to tell every node about writes
+    private final InvalidationBus invalidationBus;
+
+    // Invalidation generations, striped by book ID; every write bumps its book's stripe before evicting,
+    // so that a lookup which read the book before the write does not put the old copy back
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    // Engine answering catalog searches
+    private final BookCatalog catalog;
+
+    // Shares one lookup between concurrent callers asking for the same book
+    private final SingleFlight<Long, Book> bookLookups;
+
+    // Shares one query between concurrent callers asking for all books
+    private final SingleFlight<String, List<Book>> allBooksLookups;
+
     /**
      * Constructor for BookService.
      *
-     * @param bookRepo The repository for book operations.
+     * @param bookRepo        The repository for book operations.
+     * @param shards          The router sending repository calls to the right shards.
+     * @param cacheManager    The cache manager providing the book cache.
+     * @param invalidationBus The bus broadcasting writes to all nodes.
+     * @param catalog         The engine answering catalog searches.
+     * @param meterRegistry   The registry receiving request coalescing metrics.
      */
     @Autowired
-    public BookService(BookRepository bookRepo) {
+    public BookService(BookRepository bookRepo, ShardRouter shards, CacheManager cacheManager,
+                       InvalidationBus invalidationBus, BookCatalog catalog, MeterRegistry meterRegistry) {
         this.bookRepo = bookRepo;
+        this.shards = shards;
+        this.bookCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        this.invalidationBus = invalidationBus;
+        this.catalog = catalog;
+        this.bookLookups = new SingleFlight<>("getBook", meterRegistry);
+        this.allBooksLookups = new SingleFlight<>("getAllBooks", meterRegistry);
+        // Drop cached copies whenever any node writes a book
+        invalidationBus.subscribe(this::onBookEvent);
 
     }
 
     /**
      * Fetches all books from the repository.
+     * Concurrent callers share a single query.
      *
      * @return List of all books.
      */
     public List<Book> getAllBooks() {
-        logger.info("Fetching all books");
-        return bookRepo.findAll();
+        return allBooksLookups.execute("all", () -> {
+            logger.info("Fetching all books");
+            return shards.scatter(bookRepo::findAll, Comparator.comparing(Book::getId));
+        });
 
     }
 
     /**
-     * Fetches a book by its ID.
+     * Fetches the ID and title of all books without loading full entities.
+     *
+     * @return List of book summaries.
+     */
+    public List<BookSummary> getBookSummaries() {
+        logger.info("Fetching book summaries");
+        return shards.scatter(bookRepo::findAllSummaries, Comparator.comparing(BookSummary::id));
+
+    }
+
+    /**
+     * Fetches only the requested fields of all books as read-only rows.
+     *
+     * @param fields The names of the fields to include.
+     * @return List of rows keyed by field name.
+     * @throws InvalidFieldsException If a requested field cannot be projected.
+     */
+    public List<Map<String, Object>> getBookFields(Collection<String> fields) {
+        Set<String> unknown = new HashSet<>(fields);
+        unknown.removeAll(PROJECTABLE_FIELDS);
+        if (!unknown.isEmpty()) {
+            logger.warn("Rejected projection with unknown fields: {}", unknown);
+            throw new InvalidFieldsException(unknown, PROJECTABLE_FIELDS);
+        }
+        // Keep the canonical field order regardless of how the caller listed them
+        List<String> selected = PROJECTABLE_FIELDS.stream().filter(fields::contains).toList();
+        logger.info("Fetching book fields: {}", selected);
+        // Rows can only be merged back into ID order when the ID is among the selected fields
+        Comparator<Map<String, Object>> byId = selected.contains("id")
+                ? Comparator.comparing(row -> (Long) row.get("id")) : null;
+        return shards.scatter(() -> bookRepo.findAllFields(selected), byId);
+
+    }
+
+    /**
+     * Fetches a book by its ID, serving it from the cache when possible.
+     * On a cache miss, concurrent callers for the same ID share a single lookup.
      *
      * @param id The ID of the book to fetch.
      * @return The book with the specified ID.
      * @throws BookNotFoundException If the book is not found.
      */
     public Book getBook(Long id) {
-        logger.info("Fetching book with ID: {}", id);
-        return bookRepo.findById(id).orElseThrow(() -> new BookNotFoundException(id));
+        Book cached = bookCache.get(id, Book.class);
+        if (cached != null) {
+            logger.debug("Cache hit for book with ID: {}", id);
+            return cached;
+        }
+        return bookLookups.execute(id, () -> {
+            logger.info("Fetching book with ID: {}", id);
+            long generation = generation(id);
+            Book book = shards.onShardOf(id, () -> bookRepo.findById(id))
+                    .orElseThrow(() -> new BookNotFoundException(id));
+            cacheUnlessInvalidated(book, generation);
+            return book;
+        });
+
+    }
+
+    /**
+     * Fetches many books by ID, serving cached books first and reading the rest with IN queries.
+     * Books are returned in the requested order, and IDs without a book are reported instead of failing.
+     *
+     * @param ids The IDs of the books to fetch; duplicates are ignored.
+     * @return The books found and the IDs that were missing.
+     */
+    public BookLookupResult getBooks(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Book> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            Book cached = bookCache.get(id, Book.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        logger.info("Fetching {} books by ID, {} from cache", requested.size(), found.size());
+
+        for (int from = 0; from < uncached.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = uncached.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, uncached.size()));
+            Map<Long, Long> generations = new HashMap<>();
+            chunk.forEach(id -> generations.put(id, generation(id)));
+            for (Book book : shards.scatterByShard(chunk, bookRepo::findByIdIn)) {
+                cacheUnlessInvalidated(book, generations.get(book.getId()));
+                found.put(book.getId(), book);
+            }
+        }
+
+        List<Book> books = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Book book = found.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BookLookupResult(books, missing);
+
+    }
+
+    /**
+     * Searches the catalog by author and price range, cheapest first.
+     *
+     * @param author   The exact author to match, or null for any author.
+     * @param minPrice The lowest price to include, or null for no lower bound.
+     * @param maxPrice The highest price to include, or null for no upper bound.
+     * @param limit    The maximum number of books to return, capped at 1000.
+     * @return The matching books in price order.
+     */
+    public List<BookRow> searchBooks(String author, Double minPrice, Double maxPrice, int limit) {
+        logger.info("Searching books by author {} priced {} to {}", author, minPrice, maxPrice);
+        return catalog.search(author, minPrice, maxPrice, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
 
     }
 
@@ -66,7 +245,10 @@ public class BookService {
      */
     public Book addBook(Book book) {
         logger.info("Adding new book: {}", book.getTitle());
-        return bookRepo.save(book);
+        Book saved = shards.onShardFor(book, () -> bookRepo.save(book));
+        catalog.onSaved(saved);
+        invalidationBus.publish(new BookEvent(BookEvent.Type.ADDED, saved.getId(), invalidationBus.nodeId()));
+        return saved;
 
     }
 
@@ -79,14 +261,20 @@ public class BookService {
      * @throws BookNotFoundException If the book is not found.
      */
     public Book updateBook(Long id, Book book) {
-        if (!bookRepo.existsById(id)) {
-            logger.warn("Book not found with ID: {}", id);
-            throw new BookNotFoundException(id);
-        }
-        // Set the ID of the book to ensure it updates the correct record
-        book.setId(id);
-        logger.info("Updating book with ID: {}", id);
-        return bookRepo.save(book);
+        Book saved = shards.onShardOf(id, () -> {
+            if (!bookRepo.existsById(id)) {
+                logger.warn("Book not found with ID: {}", id);
+                throw new BookNotFoundException(id);
+            }
+            // Set the ID of the book to ensure it updates the correct record
+            book.setId(id);
+            logger.info("Updating book with ID: {}", id);
+            return bookRepo.save(book);
+        });
+        invalidate(id);
+        catalog.onSaved(saved);
+        invalidationBus.publish(new BookEvent(BookEvent.Type.UPDATED, id, invalidationBus.nodeId()));
+        return saved;
 
     }
 
@@ -97,15 +285,83 @@ public class BookService {
      * @throws BookNotFoundException If the book is not found.
      */
     public void deleteBook(Long id) {
-        // Check if the book exists before attempting to delete
-        if (!bookRepo.existsById(id)) {
-            logger.warn("Book not found with ID: {}", id);
-            throw new BookNotFoundException(id);
-        }
-        // Perform the deletion
-        bookRepo.deleteById(id);
+        shards.onShardOf(id, () -> {
+            // Check if the book exists before attempting to delete
+            if (!bookRepo.existsById(id)) {
+                logger.warn("Book not found with ID: {}", id);
+                throw new BookNotFoundException(id);
+            }
+            // Perform the deletion
+            bookRepo.deleteById(id);
+            return null;
+        });
+        invalidate(id);
+        catalog.onDeleted(id);
+        invalidationBus.publish(new BookEvent(BookEvent.Type.DELETED, id, invalidationBus.nodeId()));
         logger.info("Book with ID {} deleted", id);
 
     }
 
+    /**
+     * Evicts the cached copy of a book written on another node and brings the catalog up to date.
+     * The bus also delivers this node's own events, whose writes were already applied directly.
+     *
+     * @param event The write event received from the bus.
+     */
+    private void onBookEvent(BookEvent event) {
+        if (invalidationBus.nodeId().equals(event.origin())) {
+            return;
+        }
+        logger.debug("Evicting book with ID {} after {}", event.bookId(), event.type());
+        invalidate(event.bookId());
+        catalog.refresh(event.bookId());
+
+    }
+
+    /**
+     * Returns the invalidation generation of a book, to be read before the book is read from the database.
+     *
+     * @param id The ID of the book.
+     * @return The current generation of the book's stripe.
+     */
+    private long generation(Long id) {
+        return invalidations.get(stripe(id));
+
+    }
+
+    /**
+     * Evicts the cached copy of a book after a write, first moving its generation on so that lookups
+     * that read the book before the write do not cache what they read.
+     *
+     * @param id The ID of the written book.
+     */
+    private void invalidate(Long id) {
+        invalidations.incrementAndGet(stripe(id));
+        bookCache.evict(id);
+
+    }
+
+    /**
+     * Caches a book read from the database, unless it was written since the read began.
+     * The book is put first and then taken out again if needed: a write either moves the generation on
+     * before the check, or evicts after the put.
+     *
+     * @param book       The book read from the database.
+     * @param generation The generation of the book, read before the book was.
+     */
+    private void cacheUnlessInvalidated(Book book, long generation) {
+        bookCache.put(book.getId(), book);
+        if (generation(book.getId()) != generation) {
+            logger.debug("Book with ID {} was written during the lookup, not caching it", book.getId());
+            bookCache.evict(book.getId());
+        }
+
+    }
+
+    // Maps a book ID to its invalidation stripe
+    private static int stripe(Long id) {
+        return Math.floorMod(Long.hashCode(id), INVALIDATION_STRIPES);
+
+    }
+
 }
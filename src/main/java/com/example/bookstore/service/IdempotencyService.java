@@ -0,0 +1,127 @@
+// service/IdempotencyService.java
+package com.example.bookstore.service;
+
+import com.example.bookstore.exception.IdempotencyKeyConflictException;
+import com.example.bookstore.exception.IdempotencyKeyInProgressException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service class for making retried requests idempotent.
+ * The first result for each key is kept in a bounded, expiring store and replayed for retries,
+ * and concurrent requests with the same key wait for the single write in progress.
+ */
+@Service
+public class IdempotencyService {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Results by key; a pending future means the first request is still running
+    private final Cache<String, Entry> results;
+
+    // How long a duplicate request waits for the first one to finish
+    private final Duration waitTimeout;
+
+    /**
+     * Constructor for IdempotencyService.
+     *
+     * @param maxKeys     The maximum number of keys remembered at once.
+     * @param ttl         How long a result is replayed after it was first produced.
+     * @param waitTimeout How long a duplicate request waits for the first one to finish.
+     */
+    @Autowired
+    public IdempotencyService(@Value("${bookstore.idempotency.max-keys:10000}") long maxKeys,
+                              @Value("${bookstore.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${bookstore.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+
+    }
+
+    /**
+     * Runs the action once per key and returns its result to every request carrying that key.
+     * If the action fails the key is released, so a retry runs the action again.
+     * Duplicates arriving while the first request runs wait for it, up to the configured timeout.
+     *
+     * @param key         The idempotency key, already scoped to the caller.
+     * @param fingerprint A digest of the request, used to detect a key reused for another request.
+     * @param action      The write to perform.
+     * @param <T>         The result type.
+     * @return The result of the first request with this key.
+     * @throws IdempotencyKeyConflictException   If the key was used with a different request.
+     * @throws IdempotencyKeyInProgressException If the first request with this key did not finish in time.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = results.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                logger.warn("Idempotency key {} reused with a different request", key);
+                throw new IdempotencyKeyConflictException(key);
+            }
+            logger.info("Replaying result for idempotency key {}", key);
+            return (T) await(key, existing.result());
+        }
+
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (Throwable ex) {
+            // Whatever went wrong, forget the key so that the client can retry, and fail any request waiting on it
+            results.asMap().remove(key, entry);
+            entry.result().completeExceptionally(ex);
+            throw ex;
+        }
+
+    }
+
+    // Waits a bounded time for the first request's result, rethrowing its failure unchanged
+    private Object await(String key, CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("Gave up waiting for the first request with idempotency key {}", key);
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("First request with idempotency key " + key + " failed", ex.getCause());
+        }
+
+    }
+
+    /**
+     * A remembered request and its (possibly pending) result.
+     *
+     * @param fingerprint The digest of the first request.
+     * @param result      The result of the first request.
+     */
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {
+    }
+
+}
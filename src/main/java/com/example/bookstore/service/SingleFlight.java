@@ -0,0 +1,126 @@
+// service/SingleFlight.java
+package com.example.bookstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical calls: while a call for a key is in flight,
+ * other callers with the same key wait for and share its result instead of repeating it.
+ * Nothing is remembered once the call completes; caching is left to the caller.
+ * A caller that has waited longer than the maximum wait stops waiting and runs the call itself.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    /** How long callers wait for an identical call unless told otherwise. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    // Calls currently in progress, by key
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // Number of calls that actually ran
+    private final Counter executed;
+
+    // Number of calls that shared another call's result
+    private final Counter coalesced;
+
+    // How long a caller waits for the identical call in flight before running the call itself
+    private final Duration maxWait;
+
+    /**
+     * Constructor for SingleFlight, waiting at most {@link #DEFAULT_MAX_WAIT} for identical calls.
+     *
+     * @param operation The operation name used to tag the metrics.
+     * @param registry  The registry receiving the executed and coalesced call counters.
+     */
+    public SingleFlight(String operation, MeterRegistry registry) {
+        this(operation, registry, DEFAULT_MAX_WAIT);
+
+    }
+
+    /**
+     * Constructor for SingleFlight.
+     *
+     * @param operation The operation name used to tag the metrics.
+     * @param registry  The registry receiving the executed and coalesced call counters.
+     * @param maxWait   How long a caller waits for the identical call in flight before running the call itself.
+     */
+    public SingleFlight(String operation, MeterRegistry registry, Duration maxWait) {
+        this.maxWait = maxWait;
+        this.executed = Counter.builder("bookstore.singleflight.executed")
+                .description("Calls that ran because no identical call was in flight")
+                .tag("operation", operation)
+                .register(registry);
+        this.coalesced = Counter.builder("bookstore.singleflight.coalesced")
+                .description("Calls that shared the result of an identical in-flight call")
+                .tag("operation", operation)
+                .register(registry);
+
+    }
+
+    /**
+     * Runs the call for the key, or joins the identical call already in flight.
+     *
+     * @param key  The key identifying identical calls.
+     * @param call The call to run.
+     * @return The result of the call, possibly computed by another thread.
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing, call);
+        }
+
+        executed.increment();
+        try {
+            V result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            // Whatever went wrong, release the callers waiting on this call
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+
+    }
+
+    // Waits a bounded time for the shared result, rethrowing the leader's failure unchanged;
+    // if the leader takes too long, runs the call without it
+    private V join(CompletableFuture<V> result, Supplier<V> call) {
+        try {
+            return result.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            executed.increment();
+            return call.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical call", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Identical call failed", ex.getCause());
+        }
+
+    }
+
+}
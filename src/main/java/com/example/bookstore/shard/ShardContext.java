@@ -0,0 +1,50 @@
+// shard/ShardContext.java
+package com.example.bookstore.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard that database work on the current thread is routed to.
+ * Transactions pick their connection when they begin, so the shard must be set around whole repository calls.
+ */
+public final class ShardContext {
+
+    // Shard selected for the current thread, or null for the default shard
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Returns the shard selected for the current thread.
+     *
+     * @return the shard index, or null if none is selected
+     */
+    public static Integer current() {
+        return CURRENT.get();
+
+    }
+
+    /**
+     * Runs an action with the current thread routed to the given shard, restoring the previous shard afterwards.
+     *
+     * @param shard  the shard index
+     * @param action the database work to run
+     * @param <T>    the result type
+     * @return the result of the action
+     */
+    public static <T> T on(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+
+    }
+}
@@ -0,0 +1,274 @@
+// shard/ShardRouter.java
+package com.example.bookstore.shard;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.monitoring.sql.StatementLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes book data access across the shards.
+ * <p>
+ * Every shard hands out IDs from its own block ({@code shard * blockSize + 1} onwards), so the ID of a book
+ * tells which shard holds it and point lookups go to exactly one shard. The strategy only decides where
+ * new books are placed: {@link Strategy#RANGE} spreads them round-robin over the shards' ID ranges,
+ * {@link Strategy#AUTHOR_HASH} keeps each author's new books together. Queries over many books are
+ * scattered to all shards in parallel and their results merged: the calling thread queries one shard
+ * itself and a virtual thread per task queries each other shard, so concurrent requests do not queue
+ * behind each other. The load on each shard is bounded by its connection pool only.
+ * <p>
+ * With a single shard every call runs inline on the calling thread.
+ */
+public class ShardRouter implements AutoCloseable {
+
+    /**
+     * How new books are placed on shards.
+     */
+    public enum Strategy { RANGE, AUTHOR_HASH }
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    // Number of shards
+    private final int shardCount;
+
+    // Placement strategy for new books
+    private final Strategy strategy;
+
+    // Size of the ID block owned by each shard
+    private final long blockSize;
+
+    // Next shard for round-robin placement
+    private final AtomicLong nextShard = new AtomicLong();
+
+    // Runs the per-shard parts of scattered queries not run by the caller, a virtual thread each; null with a single shard
+    private final ExecutorService executor;
+
+    /**
+     * Creates a router for a single, unsharded database.
+     *
+     * @return a router that runs everything inline
+     */
+    public static ShardRouter single() {
+        return new ShardRouter(1, Strategy.RANGE, Long.MAX_VALUE);
+
+    }
+
+    /**
+     * Constructor for ShardRouter.
+     *
+     * @param shardCount The number of shards.
+     * @param strategy   How new books are placed.
+     * @param blockSize  The size of the ID block owned by each shard.
+     */
+    public ShardRouter(int shardCount, Strategy strategy, long blockSize) {
+        if (shardCount < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("Shard count and ID block size must be positive");
+        }
+        this.shardCount = shardCount;
+        this.strategy = strategy;
+        this.blockSize = blockSize;
+        this.executor = shardCount == 1 ? null
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-query-", 0).factory());
+
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return The number of shards.
+     */
+    public int shardCount() {
+        return shardCount;
+
+    }
+
+    /**
+     * Returns the first ID handed out by a shard.
+     *
+     * @param shard The shard index.
+     * @return The first ID in the shard's block.
+     */
+    public long firstId(int shard) {
+        return shard * blockSize + 1;
+
+    }
+
+    /**
+     * Returns the shard holding the book with the given ID.
+     *
+     * @param id The book ID.
+     * @return The shard index; IDs outside every block map to the nearest shard, where they will not be found.
+     */
+    public int shardOf(long id) {
+        long shard = Math.max(id - 1, 0) / blockSize;
+        return (int) Math.min(shard, shardCount - 1);
+
+    }
+
+    /**
+     * Chooses the shard for a new book.
+     *
+     * @param book The book about to be inserted.
+     * @return The shard index.
+     */
+    public int shardFor(Book book) {
+        return switch (strategy) {
+            case RANGE -> (int) (nextShard.getAndIncrement() % shardCount);
+            case AUTHOR_HASH -> Math.floorMod(String.valueOf(book.getAuthor()).hashCode(), shardCount);
+        };
+
+    }
+
+    /**
+     * Runs database work on the shard holding the given book.
+     *
+     * @param id     The book ID.
+     * @param action The database work.
+     * @param <T>    The result type.
+     * @return The result of the action.
+     */
+    public <T> T onShardOf(Long id, Supplier<T> action) {
+        return onShard(shardOf(id), action);
+
+    }
+
+    /**
+     * Runs the insert of a new book on the shard chosen for it.
+     *
+     * @param book   The book about to be inserted.
+     * @param action The database work.
+     * @param <T>    The result type.
+     * @return The result of the action.
+     */
+    public <T> T onShardFor(Book book, Supplier<T> action) {
+        return onShard(shardFor(book), action);
+
+    }
+
+    /**
+     * Runs the same query on every shard in parallel and merges the results.
+     * Each shard's results must already be sorted by the given order; the merge keeps that order.
+     *
+     * @param query The query to run on each shard.
+     * @param order The order of the query's results, or null to concatenate them in shard order.
+     * @param <T>   The result element type.
+     * @return The results of all shards.
+     */
+    public <T> List<T> scatter(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (shardCount == 1) {
+            return query.get();
+        }
+        List<Integer> all = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            all.add(shard);
+        }
+        List<T> merged = fanOut(all, shard -> query.get());
+        if (order != null) {
+            // The list is a run of sorted runs, which the merge sort combines in near-linear time
+            merged.sort(order);
+        }
+        return merged;
+
+    }
+
+    /**
+     * Groups IDs by the shard holding them and runs one query per shard in parallel.
+     *
+     * @param ids   The book IDs.
+     * @param query The query taking the IDs held by one shard.
+     * @param <T>   The result element type.
+     * @return The results of all queried shards, in shard order.
+     */
+    public <T> List<T> scatterByShard(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        if (shardCount == 1) {
+            return query.apply(List.copyOf(ids));
+        }
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return fanOut(List.copyOf(idsByShard.keySet()), shard -> query.apply(idsByShard.get(shard)));
+
+    }
+
+    /**
+     * Stops the threads running scattered queries.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+    }
+
+    // Runs an action on one shard, inline when there is nothing to route
+    private <T> T onShard(int shard, Supplier<T> action) {
+        if (shardCount == 1) {
+            return action.get();
+        }
+        logger.debug("Routing to shard {}", shard);
+        return ShardContext.on(shard, action);
+
+    }
+
+    // Runs a task on each target shard, the first on the calling thread and the others in parallel,
+    // and concatenates the results in target order; if any part fails, the others are cancelled
+    private <T> List<T> fanOut(List<Integer> targets, IntFunction<List<T>> task) {
+        if (targets.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Future<List<T>>> futures = new ArrayList<>(targets.size() - 1);
+        // Statements of the parallel parts count towards the caller's request
+        StatementLog log = StatementLog.current();
+        for (int shard : targets.subList(1, targets.size())) {
+            futures.add(executor.submit(() -> StatementLog.recordingInto(log,
+                    () -> ShardContext.on(shard, () -> task.apply(shard)))));
+        }
+        try {
+            int first = targets.get(0);
+            List<T> merged = new ArrayList<>(ShardContext.on(first, () -> task.apply(first)));
+            for (Future<List<T>> future : futures) {
+                merged.addAll(await(future));
+            }
+            return merged;
+        } catch (RuntimeException | Error e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+    }
+
+    // Waits for one shard's results, rethrowing its failure unchanged
+    private static <T> List<T> await(Future<List<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+
+    }
+}
@@ -0,0 +1,65 @@
+// shard/ShardRoutingDataSource.java
+package com.example.bookstore.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource that hands out connections to the shard selected in {@link ShardContext}.
+ * Work without a selected shard, such as schema initialization and Hibernate bootstrap, goes to shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ShardRoutingDataSource.class);
+
+    // One data source per shard, by shard index
+    private final List<DataSource> shards;
+
+    /**
+     * Constructor for ShardRoutingDataSource.
+     *
+     * @param shards The data source of each shard, by shard index.
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+
+    }
+
+    /**
+     * Closes the data source of every shard.
+     */
+    @Override
+    public void close() {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Could not close shard data source", e);
+                }
+            }
+        }
+
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bookstore.cache;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the BookEvent wire format.
+ */
+class BookEventTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(BookEventTest.class);
+
+    /**
+     * Test that every event type survives an encode/decode round trip.
+     */
+    @Test
+    void shouldRoundTripEveryEventType() {
+        for (BookEvent.Type type : BookEvent.Type.values()) {
+            BookEvent event = new BookEvent(type, 1_000_000_000_042L, "5f0c9a2e-node");
+            assertEquals(event, BookEvent.decode(event.encode()));
+        }
+        assertEquals("UPDATED:42:node-1", new BookEvent(BookEvent.Type.UPDATED, 42L, "node-1").encode());
+        logger.info("Test shouldRoundTripEveryEventType passed successfully");
+
+    }
+
+    /**
+     * Test that whitespace around the ID and origin, such as a newline sent by a shell tool, is ignored.
+     */
+    @Test
+    void shouldIgnoreWhitespaceAroundIdAndOrigin() {
+        assertEquals(new BookEvent(BookEvent.Type.DELETED, 7L, "node-1"), BookEvent.decode("DELETED: 7 :node-1\n"));
+        logger.info("Test shouldIgnoreWhitespaceAroundIdAndOrigin passed successfully");
+
+    }
+
+    /**
+     * Test that malformed messages are rejected rather than decoded into a wrong event.
+     */
+    @Test
+    void shouldRejectMalformedMessages() {
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("UPDATED"));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("UPDATED:1"));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("UPDATED:1: "));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("RENAMED:1:node"));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("updated:1:node"));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("UPDATED::node"));
+        assertThrows(IllegalArgumentException.class, () -> BookEvent.decode("UPDATED:abc:node"));
+        logger.info("Test shouldRejectMalformedMessages passed successfully");
+
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.bookstore.cache;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the MulticastInvalidationBus class.
+ * Two buses in one JVM stand in for two nodes of a local cluster, joined on the loopback interface.
+ * The test is skipped when the host cannot join a multicast group on its loopback interface.
+ */
+class MulticastInvalidationBusTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(MulticastInvalidationBusTest.class);
+
+    // Group used by the test, apart from the application's default group
+    private static final String GROUP = "239.255.27.99";
+
+    /**
+     * Test that an event published by one node reaches the other node and the sender itself,
+     * and that a closed node no longer receives events.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void shouldDeliverEventsBetweenNodesUntilClosed() throws Exception {
+        String loopback = loopbackInterface();
+        assumeTrue(loopback != null, "No loopback interface is up");
+        int port = freePort();
+
+        BlockingQueue<BookEvent> receivedBySender = new LinkedBlockingQueue<>();
+        BlockingQueue<BookEvent> receivedByPeer = new LinkedBlockingQueue<>();
+        try (MulticastInvalidationBus sender = join(loopback, port);
+             MulticastInvalidationBus peer = join(loopback, port)) {
+            sender.subscribe(receivedBySender::add);
+            peer.subscribe(receivedByPeer::add);
+
+            BookEvent event = new BookEvent(BookEvent.Type.UPDATED, 42L, sender.nodeId());
+            sender.publish(event);
+            assertEquals(event, receivedByPeer.poll(5, TimeUnit.SECONDS));
+            assertEquals(event, receivedBySender.poll(5, TimeUnit.SECONDS));
+
+            peer.close();
+            sender.publish(new BookEvent(BookEvent.Type.DELETED, 42L, sender.nodeId()));
+            assertEquals(BookEvent.Type.DELETED, receivedBySender.poll(5, TimeUnit.SECONDS).type());
+            assertNull(receivedByPeer.poll(500, TimeUnit.MILLISECONDS));
+        }
+        logger.info("Test shouldDeliverEventsBetweenNodesUntilClosed passed successfully");
+
+    }
+
+    // Joins the test group on the loopback interface, skipping the test if the host does not allow it
+    private static MulticastInvalidationBus join(String networkInterface, int port) {
+        try {
+            // A TTL of 0 keeps the datagrams on this host
+            return new MulticastInvalidationBus(GROUP, port, networkInterface, 0);
+        } catch (UncheckedIOException e) {
+            assumeTrue(false, "Cannot join a multicast group on " + networkInterface + ": " + e.getCause());
+            throw e;
+        }
+
+    }
+
+    // Returns the name of the loopback interface if it is up, otherwise null
+    private static String loopbackInterface() throws SocketException {
+        return NetworkInterface.networkInterfaces()
+                .filter(candidate -> {
+                    try {
+                        return candidate.isLoopback() && candidate.isUp();
+                    } catch (SocketException e) {
+                        return false;
+                    }
+                })
+                .map(NetworkInterface::getName)
+                .findFirst().orElse(null);
+
+    }
+
+    // Finds a UDP port that is currently unused
+    private static int freePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+
+    }
+}
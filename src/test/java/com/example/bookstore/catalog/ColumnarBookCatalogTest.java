@@ -0,0 +1,176 @@
+package com.example.bookstore.catalog;
+
+import com.example.bookstore.cache.BookEvent;
+import com.example.bookstore.cache.InvalidationBus;
+import com.example.bookstore.cache.LoopbackInvalidationBus;
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.service.BookService;
+import com.example.bookstore.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ColumnarBookCatalog class.
+ * This class tests searches and writes against the in-memory columns.
+ */
+@ExtendWith(MockitoExtension.class)
+class ColumnarBookCatalogTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarBookCatalogTest.class);
+
+    // Repository the catalog is loaded from
+    @Mock
+    private BookRepository bookRepo;
+
+    // Catalog under test
+    private ColumnarBookCatalog catalog;
+
+    /**
+     * Load a small catalog, ordered by price as the repository returns it.
+     */
+    @BeforeEach
+    void setUp() {
+        when(bookRepo.findAllRows()).thenReturn(List.of(
+                new BookRow(4L, "Pride and Prejudice", "Jane Austen", 9.99),
+                new BookRow(8L, "Animal Farm", "George Orwell", 10.99),
+                new BookRow(3L, "1984", "George Orwell", 12.99),
+                new BookRow(2L, "To Kill a Mockingbird", "Harper Lee", 15.99)));
+        catalog = new ColumnarBookCatalog(bookRepo, ShardRouter.single());
+        catalog.load();
+
+    }
+
+    /**
+     * Test case for a price range search.
+     * Only books within the inclusive range should be returned, cheapest first.
+     */
+    @Test
+    void whenSearchingByPriceRange_thenBooksInRangeByPrice() {
+        List<BookRow> books = catalog.search(null, 10.0, 13.0, 10);
+        assertEquals(List.of(8L, 3L), books.stream().map(BookRow::id).toList());
+        logger.info("Price range search passed: {}", books);
+
+    }
+
+    /**
+     * Test case for an author search.
+     * Only the author's books should be returned, cheapest first and within the limit.
+     */
+    @Test
+    void whenSearchingByAuthor_thenAuthorsBooksByPrice() {
+        assertEquals(List.of("Animal Farm", "1984"),
+                catalog.search("George Orwell", null, null, 10).stream().map(BookRow::title).toList());
+        assertEquals(List.of("Animal Farm"),
+                catalog.search("George Orwell", null, null, 1).stream().map(BookRow::title).toList());
+        assertTrue(catalog.search("Nobody", null, null, 10).isEmpty());
+        logger.info("Author search passed");
+
+    }
+
+    /**
+     * Test case for a local update.
+     * The book should move to its new place in price order.
+     */
+    @Test
+    void whenBookSaved_thenCatalogReordered() {
+        catalog.onSaved(new Book(4L, "Pride and Prejudice", "Jane Austen", 20.0));
+        catalog.onSaved(new Book(11L, "Emma", "Jane Austen", 1.0));
+        assertEquals(5, catalog.size());
+        assertEquals(List.of(11L, 8L, 3L, 2L, 4L),
+                catalog.search(null, null, null, 10).stream().map(BookRow::id).toList());
+        assertEquals(List.of("Emma", "Pride and Prejudice"),
+                catalog.search("Jane Austen", null, null, 10).stream().map(BookRow::title).toList());
+        logger.info("Save test passed");
+
+    }
+
+    /**
+     * Test case for deletes, local and from another node.
+     * Deleted books should no longer be found.
+     */
+    @Test
+    void whenBookDeleted_thenNoLongerFound() {
+        catalog.onDeleted(8L);
+        when(bookRepo.findRowById(3L)).thenReturn(Optional.empty());
+        catalog.refresh(3L);
+        assertEquals(2, catalog.size());
+        assertTrue(catalog.search("George Orwell", null, null, 10).isEmpty());
+        logger.info("Delete test passed");
+
+    }
+
+    /**
+     * Test case for writes made through the service.
+     * Local writes should be applied to the catalog once, without reading the book back;
+     * only writes announced by another node should be re-read.
+     */
+    @Test
+    void whenWrittenLocally_thenAppliedWithoutReadingBack() {
+        InvalidationBus bus = new LoopbackInvalidationBus();
+        BookService service = new BookService(bookRepo, ShardRouter.single(), new ConcurrentMapCacheManager("books"),
+                bus, catalog, new SimpleMeterRegistry());
+        when(bookRepo.save(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            if (book.getId() == null) {
+                book.setId(11L);
+            }
+            return book;
+        });
+        when(bookRepo.existsById(11L)).thenReturn(true);
+
+        service.addBook(new Book(null, "Emma", "Jane Austen", 1.0));
+        service.updateBook(11L, new Book(null, "Emma", "Jane Austen", 30.0));
+        service.deleteBook(11L);
+        verify(bookRepo, never()).findRowById(any());
+        assertEquals(4, catalog.size());
+
+        when(bookRepo.findRowById(2L)).thenReturn(Optional.of(new BookRow(2L, "To Kill a Mockingbird", "Harper Lee", 5.0)));
+        bus.publish(new BookEvent(BookEvent.Type.UPDATED, 2L, "peer-node"));
+        verify(bookRepo, times(1)).findRowById(2L);
+        assertEquals(2L, catalog.search(null, null, null, 1).get(0).id());
+        logger.info("Local write test passed");
+
+    }
+
+    /**
+     * Test case for a write arriving while the catalog is being loaded.
+     * The write should wait for the load and then be applied, rather than be lost.
+     */
+    @Test
+    void whenWrittenDuringLoad_thenNotLost() throws Exception {
+        ColumnarBookCatalog loading = new ColumnarBookCatalog(bookRepo, ShardRouter.single());
+        Thread writer = new Thread(() -> loading.onSaved(new Book(11L, "Emma", "Jane Austen", 1.0)));
+        when(bookRepo.findAllRows()).thenAnswer(invocation -> {
+            // The write commits after the load's read has started, so the read does not include it
+            writer.start();
+            Thread.sleep(200);
+            return List.of(new BookRow(4L, "Pride and Prejudice", "Jane Austen", 9.99));
+        });
+        loading.load();
+        writer.join(5000);
+        assertEquals(List.of(11L, 4L), loading.search("Jane Austen", null, null, 10).stream().map(BookRow::id).toList());
+        logger.info("Write during load test passed");
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the SecurityConfig class.
+ * This class logs in with the configured accounts over HTTP Basic to check the pre-hashed passwords and roles.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfigTest.class);
+
+    // MockMvc instance for simulating HTTP requests
+    @Autowired
+    private MockMvc mockMvc;
+
+    // ObjectMapper instance for converting objects to JSON
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test that the user account can read books but not add them.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void userShouldReadButNotWrite() throws Exception {
+        mockMvc.perform(get("/books").with(httpBasic("user", "user123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books").with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book(null, "User Book", "User Author", 10.0))))
+                .andExpect(status().isForbidden());
+        logger.info("Test userShouldReadButNotWrite passed successfully");
+
+    }
+
+    /**
+     * Test that the admin account can read and add books.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void adminShouldReadAndWrite() throws Exception {
+        mockMvc.perform(get("/books").with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book(null, "Admin Book", "Admin Author", 20.0))))
+                .andExpect(status().isCreated());
+        logger.info("Test adminShouldReadAndWrite passed successfully");
+
+    }
+
+    /**
+     * Test that a wrong password is rejected.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void wrongPasswordShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/books").with(httpBasic("admin", "user123")))
+                .andExpect(status().isUnauthorized());
+        logger.info("Test wrongPasswordShouldBeRejected passed successfully");
+
+    }
+}
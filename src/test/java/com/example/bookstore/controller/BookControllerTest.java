@@ -1,6 +1,9 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.cache.BookEvent;
+import com.example.bookstore.cache.InvalidationBus;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.monitoring.sql.StatementLog;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +17,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.example.bookstore.monitoring.sql.StatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +57,10 @@ class BookControllerTest {
     @Autowired
     private BookController bookController;
 
+    // Bus used to simulate writes handled by another node
+    @Autowired
+    private InvalidationBus invalidationBus;
+
     // ObjectMapper instance for converting objects to JSON
     @Autowired
     private ObjectMapper objectMapper;
@@ -89,6 +105,58 @@ class BookControllerTest {
 
     }
 
+    /**
+     * Test case for getting the slim list view.
+     * It checks that only the ID and title are returned.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void userShouldGetBookSummaries() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "title,id")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(testBook.getId()))
+                .andExpect(jsonPath("$[0].title").value("Test Book"))
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].price").doesNotExist());
+        logger.info("GET /books with summary fields test completed successfully");
+
+    }
+
+    /**
+     * Test case for getting an arbitrary subset of fields.
+     * It checks that only the requested fields are returned.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void userShouldGetRequestedFieldsOnly() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "author")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].author").value("Test Author"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].title").doesNotExist());
+        logger.info("GET /books with author field test completed successfully");
+
+    }
+
+    /**
+     * Test case for requesting a field that does not exist.
+     * It checks if a 400 Bad Request status is returned.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldReturn400WhenRequestingUnknownField() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "id,isbn")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        logger.info("GET /books with unknown field test completed successfully");
+
+    }
+
     /**
      * Test case for getting a book by ID.
      * It checks if the correct book is returned.
@@ -106,6 +174,125 @@ class BookControllerTest {
 
     }
 
+    /**
+     * Test case for getting many books by ID.
+     * It checks that books come back in the requested order and unknown IDs are reported.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void userShouldGetBooksByIds() throws Exception {
+        Book other = new Book();
+        other.setTitle("Other Book");
+        other.setAuthor("Other Author");
+        other = bookService.addBook(other);
+        long unknownId = other.getId() + 1000;
+
+        mockMvc.perform(get("/books").param("ids", other.getId() + "," + unknownId + "," + testBook.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].title").value("Other Book"))
+                .andExpect(jsonPath("$.books[1].title").value("Test Book"))
+                .andExpect(jsonPath("$.missing[0]").value(unknownId));
+        logger.info("GET /books by IDs test completed successfully");
+
+    }
+
+    /**
+     * Test case for invalid ID lists in the query string.
+     * Blank IDs and lists longer than the lookup limit should be rejected like in the request body.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldReturn400ForInvalidIdsParameter() throws Exception {
+        mockMvc.perform(get("/books").param("ids", testBook.getId() + ",," + testBook.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ids").value("Ids must not be blank"));
+
+        String tooMany = LongStream.rangeClosed(1, 1001)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/books").param("ids", tooMany))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ids").value("At most 1000 ids can be looked up at once"));
+
+        mockMvc.perform(post("/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, null]}"))
+                .andExpect(status().isBadRequest());
+        logger.info("Invalid ids parameter test completed successfully");
+
+    }
+
+    /**
+     * Test case for looking up books with the IDs in the request body.
+     * It checks that a USER may use this read-only POST endpoint.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void userShouldLookUpBooks() throws Exception {
+        mockMvc.perform(post("/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + testBook.getId() + "]}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].title").value("Test Book"))
+                .andExpect(jsonPath("$.missing").isEmpty());
+        logger.info("POST /books/lookup test completed successfully");
+
+    }
+
+    /**
+     * Test case for searching books by author and price.
+     * It checks that only matching books are returned, cheapest first.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void userShouldSearchBooks() throws Exception {
+        bookService.addBook(new Book(null, "Cheap Book", "Test Author", 5.0));
+        bookService.addBook(new Book(null, "Pricey Book", "Test Author", 50.0));
+        bookService.addBook(new Book(null, "Other Book", "Other Author", 7.0));
+
+        mockMvc.perform(get("/books/search")
+                        .param("author", "Test Author")
+                        .param("minPrice", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Cheap Book"))
+                .andExpect(jsonPath("$[1].title").value("Pricey Book"));
+        logger.info("GET /books/search test completed successfully");
+
+    }
+
+    /**
+     * Test case for a write handled by another node.
+     * It checks that the cached book is served until the invalidation event arrives.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void peerWriteShouldInvalidateCachedBook() throws Exception {
+        mockMvc.perform(get("/books/{id}", testBook.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Book"));
+
+        // Another node updates the row directly in the shared database
+        testBook.setTitle("Peer Title");
+        bookRepository.save(testBook);
+        mockMvc.perform(get("/books/{id}", testBook.getId()))
+                .andExpect(jsonPath("$.title").value("Test Book"));
+
+        // Its broadcast evicts our cached copy
+        invalidationBus.publish(new BookEvent(BookEvent.Type.UPDATED, testBook.getId(), "peer-node"));
+        mockMvc.perform(get("/books/{id}", testBook.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Peer Title"));
+        logger.info("Peer invalidation test completed successfully");
+
+    }
+
     /**
      * Test case for getting a book by ID that does not exist.
      * It checks if a 404 Not Found status is returned.
@@ -201,6 +388,64 @@ class BookControllerTest {
 
     }
 
+    /**
+     * Test case for retrying a create with the same idempotency key.
+     * It checks that the first response is replayed and no duplicate is stored.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminRetryWithIdempotencyKeyShouldNotDuplicateBook() throws Exception {
+        Book newBook = new Book();
+        newBook.setTitle("New Book");
+        newBook.setAuthor("New Author");
+        String body = objectMapper.writeValueAsString(newBook);
+
+        String first = mockMvc.perform(post("/books")
+                        .header("Idempotency-Key", "create-new-book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/books")
+                        .header("Idempotency-Key", "create-new-book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(content().json(first));
+
+        assertEquals(2, bookRepository.count());
+        logger.info("POST /books idempotent retry test completed successfully");
+
+    }
+
+    /**
+     * Test case for reusing an idempotency key with a different book.
+     * It checks if a 422 Unprocessable Entity status is returned.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn422WhenIdempotencyKeyIsReused() throws Exception {
+        Book newBook = new Book();
+        newBook.setTitle("New Book");
+        newBook.setAuthor("New Author");
+        mockMvc.perform(post("/books")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newBook)))
+                .andExpect(status().isCreated());
+
+        newBook.setTitle("Other Book");
+        mockMvc.perform(post("/books")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newBook)))
+                .andDo(print())
+                .andExpect(status().isUnprocessableEntity());
+        logger.info("POST /books reused idempotency key test completed successfully");
+
+    }
+
     /**
      * Test case for updating a book with valid data.
      * It checks if the book is updated successfully.
@@ -241,4 +486,52 @@ class BookControllerTest {
 
     }
 
+    /**
+     * Test case for the statement budget of reads.
+     * A book is read with one query, and not at all once it is cached; listing all books is one query.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    void readsShouldStayWithinStatementBudget() {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/books/{id}", testBook.getId())).andExpect(status().isOk()));
+        assertMaxStatements(0, () -> mockMvc.perform(get("/books/{id}", testBook.getId())).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> mockMvc.perform(get("/books")).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> bookService.getBooks(List.of(testBook.getId(), Long.MAX_VALUE)));
+        logger.info("Read statement budget test completed successfully");
+
+    }
+
+    /**
+     * Test case for the statement budget of writes.
+     * Inserting is one statement; updating and deleting check that the book exists first.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void writesShouldStayWithinStatementBudget() {
+        Book book = assertMaxStatements(1, () -> bookService.addBook(new Book(null, "Budget Book", "Budget Author", 5.0)));
+        Book update = new Book(null, "Budget Book", "Budget Author", 6.0);
+        assertMaxStatements(3, () -> mockMvc.perform(put("/books/{id}", book.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk()));
+        assertMaxStatements(3, () -> mockMvc.perform(delete("/books/{id}", book.getId())).andExpect(status().isNoContent()));
+        logger.info("Write statement budget test completed successfully");
+
+    }
+
+    /**
+     * Test case for the repeated-read detection on updates.
+     * The existence check and the save both read the book, which the inspection reports.
+     */
+    @Test
+    void updateShouldBeReportedAsReadingBookTwice() {
+        try (StatementLog log = StatementLog.open()) {
+            bookService.updateBook(testBook.getId(), new Book(null, "Test Book", "Test Author", 7.0));
+            assertEquals(Map.of("books [" + testBook.getId() + "]", 2), log.repeatedReads(2));
+            assertTrue(log.repeated(2).isEmpty());
+        }
+        logger.info("Repeated read detection test completed successfully");
+
+    }
+
 }
@@ -0,0 +1,55 @@
+package com.example.bookstore.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the FirstRequestTimer class.
+ * This class checks that the time-to-first-request gauge is registered once the first request completes.
+ */
+class FirstRequestTimerTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestTimerTest.class);
+
+    // Name of the gauge published by the timer
+    private static final String GAUGE = "bookstore.startup.time-to-first-request";
+
+    /**
+     * Test that the gauge appears after the first request and keeps its value on later requests.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void shouldRegisterGaugeAfterFirstRequest() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        FirstRequestTimer timer = new FirstRequestTimer(registry);
+        assertNull(registry.find(GAUGE).timeGauge());
+
+        timer.doFilter(new MockHttpServletRequest("GET", "/books"), new MockHttpServletResponse(), new MockFilterChain());
+        TimeGauge gauge = registry.find(GAUGE).timeGauge();
+        assertNotNull(gauge);
+        double first = gauge.value(TimeUnit.MILLISECONDS);
+        assertTrue(first > 0);
+
+        timer.doFilter(new MockHttpServletRequest("GET", "/books"), new MockHttpServletResponse(), new MockFilterChain());
+        assertEquals(1, registry.find(GAUGE).timeGauges().size());
+        assertEquals(first, registry.find(GAUGE).timeGauge().value(TimeUnit.MILLISECONDS));
+        logger.info("Test shouldRegisterGaugeAfterFirstRequest passed successfully");
+
+    }
+}
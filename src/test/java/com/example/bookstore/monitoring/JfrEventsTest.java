@@ -0,0 +1,108 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the custom JFR events.
+ * This class records a request and checks that each phase shows up with its details.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JfrEventsTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventsTest.class);
+
+    // MockMvc instance for simulating HTTP requests
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Repository used to store a book without going through the service's cache
+    @Autowired
+    private BookRepository bookRepository;
+
+    // Temporary directory receiving the recording
+    @TempDir
+    private Path dir;
+
+    /**
+     * Test that fetching a book records an event for every phase of the request.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getBookShouldRecordEventForEachPhase() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Recorded Book", "Recorded Author", 12.5));
+        Path dump = dir.resolve("request.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("Auth", "Handler", "Service", "Query", "Serialization")) {
+                recording.enable("com.example.bookstore." + event).withoutThreshold();
+            }
+            recording.start();
+            mockMvc.perform(get("/books/{id}", book.getId()).with(httpBasic("user", "user123")))
+                    .andExpect(status().isOk());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        RecordedEvent auth = only(events, "Auth");
+        assertEquals("user", auth.getString("principal"));
+        assertTrue(auth.getBoolean("authenticated"));
+
+        RecordedEvent handler = only(events, "Handler");
+        assertEquals("user", handler.getString("principal"));
+        assertEquals(book.getId(), handler.getLong("bookId"));
+        assertEquals(200, handler.getInt("status"));
+
+        RecordedEvent service = events.stream()
+                .filter(event -> isType(event, "Service") && "getBook".equals(event.getString("operation")))
+                .findFirst().orElseThrow();
+        assertEquals("user", service.getString("principal"));
+        assertEquals(book.getId(), service.getLong("bookId"));
+        assertEquals(1, service.getInt("rows"));
+
+        assertTrue(events.stream().anyMatch(event -> isType(event, "Query")
+                && event.getLong("bookId") == book.getId() && event.getInt("rows") == 1));
+        assertEquals(Book.class.getName(), only(events, "Serialization").getString("type"));
+        assertTrue(handler.getDuration().compareTo(service.getDuration()) >= 0);
+        logger.info("Test getBookShouldRecordEventForEachPhase passed successfully");
+
+    }
+
+    // Returns the single recorded event of the given Bookstore type
+    private static RecordedEvent only(List<RecordedEvent> events, String type) {
+        List<RecordedEvent> matching = events.stream().filter(event -> isType(event, type)).toList();
+        assertEquals(1, matching.size(), "Expected one " + type + " event");
+        return matching.get(0);
+
+    }
+
+    // Tells whether the event is the given Bookstore type
+    private static boolean isType(RecordedEvent event, String type) {
+        return event.getEventType().getName().equals("com.example.bookstore." + type);
+
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.monitoring.jfr.JfrRecording;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the always-on flight recording under the startup profile.
+ * The profile makes beans lazy, and nothing injects the recording, so it must be kept eager explicitly.
+ */
+@SpringBootTest
+@ActiveProfiles("startup")
+class JfrRecordingStartupTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingStartupTest.class);
+
+    // Context started with the startup profile
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Test that the recording is started with the context even though lazy initialization is enabled.
+     */
+    @Test
+    void recordingShouldStartWithLazyInitialization() {
+        assertTrue(context.getEnvironment().getProperty("spring.main.lazy-initialization", Boolean.class, false));
+        // Checked without getBean, which would create a lazy bean on demand
+        assertTrue(context.getBeanFactory().containsSingleton("jfrRecording"), "Recording bean was not created");
+        assertTrue(FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(recording -> JfrRecording.NAME.equals(recording.getName())
+                        && recording.getState() == RecordingState.RUNNING));
+        logger.info("Test recordingShouldStartWithLazyInitialization passed successfully");
+
+    }
+}
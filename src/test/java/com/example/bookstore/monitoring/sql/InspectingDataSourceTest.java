@@ -0,0 +1,121 @@
+package com.example.bookstore.monitoring.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the InspectingDataSource class.
+ * This class checks that statements are recorded with their bind parameters and that repeats are found.
+ */
+class InspectingDataSourceTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(InspectingDataSourceTest.class);
+
+    // JDBC access through the inspecting data source
+    private JdbcTemplate jdbc;
+
+    /**
+     * Set up a private in-memory database behind an inspecting data source.
+     */
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:inspection;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(new InspectingDataSource(target, Duration.ofSeconds(10)));
+        jdbc.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.update("DELETE FROM items");
+
+    }
+
+    /**
+     * Test that each statement is recorded with its SQL and bind parameters.
+     */
+    @Test
+    void shouldRecordStatementsWithParameters() {
+        try (StatementLog log = StatementLog.open()) {
+            jdbc.update("INSERT INTO items (id, name) VALUES (?, ?)", 1L, "first");
+            jdbc.update("INSERT INTO items (id, name) VALUES (?, ?)", 2L, null);
+            List<SqlStatement> statements = log.statements();
+            assertEquals(2, log.count());
+            assertEquals("INSERT INTO items (id, name) VALUES (?, ?)", statements.get(0).sql());
+            assertEquals(List.of(1L, "first"), statements.get(0).parameters());
+            assertEquals(2L, statements.get(1).parameters().get(0));
+            assertEquals(null, statements.get(1).parameters().get(1));
+            assertTrue(statements.get(0).durationNanos() > 0);
+        }
+        logger.info("Test shouldRecordStatementsWithParameters passed successfully");
+
+    }
+
+    /**
+     * Test that a statement run once per row is reported as repeated, and that nested logs both see it.
+     */
+    @Test
+    void shouldFindRepeatedStatementsInNestedLogs() {
+        try (StatementLog outer = StatementLog.open()) {
+            jdbc.queryForList("SELECT id FROM items");
+            try (StatementLog inner = StatementLog.open()) {
+                for (long id = 1; id <= 3; id++) {
+                    jdbc.queryForList("SELECT name FROM items WHERE id = ?", id);
+                }
+                assertEquals(3, inner.count());
+                assertEquals(Map.of("SELECT name FROM items WHERE id = ?", 3), inner.repeated(2));
+            }
+            assertEquals(4, outer.count());
+            assertEquals(1, outer.repeated(2).size());
+        }
+        logger.info("Test shouldFindRepeatedStatementsInNestedLogs passed successfully");
+
+    }
+
+    /**
+     * Test that different SELECTs for the same rows are reported as repeated reads, while reads of
+     * other rows and writes are not; the same SELECT for different rows is a repeated statement instead.
+     */
+    @Test
+    void shouldFindRowsReadRepeatedly() {
+        jdbc.update("INSERT INTO items (id, name) VALUES (?, ?)", 1L, "first");
+        try (StatementLog log = StatementLog.open()) {
+            jdbc.queryForObject("SELECT COUNT(*) FROM items WHERE id = ?", Long.class, 1L);
+            jdbc.queryForList("SELECT id, name FROM items WHERE id = ?", 1L);
+            jdbc.queryForList("SELECT id, name FROM items WHERE id = ?", 2L);
+            jdbc.update("UPDATE items SET name = ? WHERE id = ?", "renamed", 1L);
+            assertEquals(Map.of("items [1]", 2), log.repeatedReads(2));
+            assertEquals(Map.of("SELECT id, name FROM items WHERE id = ?", 2), log.repeated(2));
+        }
+        logger.info("Test shouldFindRowsReadRepeatedly passed successfully");
+
+    }
+
+    /**
+     * Test that only lookups by ID count as reads of a row: different SELECTs without parameters, or
+     * filtering other columns by equal values, are not reported as the same rows read twice.
+     */
+    @Test
+    void shouldNotReportOtherSelectsAsRepeatedReads() {
+        jdbc.update("INSERT INTO items (id, name) VALUES (?, ?)", 1L, "first");
+        try (StatementLog log = StatementLog.open()) {
+            jdbc.queryForObject("SELECT COUNT(*) FROM items", Long.class);
+            jdbc.queryForList("SELECT id, name FROM items");
+            jdbc.queryForList("SELECT id FROM items WHERE name = ?", "first");
+            jdbc.queryForList("SELECT name FROM items i WHERE i.name = ?", "first");
+            assertTrue(log.repeatedReads(2).isEmpty());
+        }
+        assertEquals("items [1]", new SqlStatement("select i1_0.id,i1_0.name from items i1_0 where i1_0.id=?", List.of(1L), 0).readTarget());
+        assertNull(new SqlStatement("select i1_0.id from items i1_0 where i1_0.name=?", List.of(1L), 0).readTarget());
+        logger.info("Test shouldNotReportOtherSelectsAsRepeatedReads passed successfully");
+
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bookstore.monitoring.sql;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Assertions on the number of SQL statements an operation sends to the database.
+ * Bounding the statements per operation makes extra round trips, such as a new N+1 query, fail the build.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    /**
+     * Runs an operation and asserts that it executes at most the given number of statements.
+     *
+     * @param max       the largest number of statements allowed
+     * @param operation the operation to run
+     * @param <T>       the result type
+     * @return the result of the operation
+     */
+    public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> operation) {
+        T result;
+        try (StatementLog log = StatementLog.open()) {
+            try {
+                result = operation.get();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                return fail("Operation failed while counting statements", e);
+            }
+            log.close();
+            assertTrue(log.count() <= max, () -> "Expected at most " + max + " SQL statements but "
+                    + log.count() + " were executed:\n" + describe(log));
+        }
+        return result;
+
+    }
+
+    /**
+     * Runs an operation and asserts that it executes at most the given number of statements.
+     *
+     * @param max       the largest number of statements allowed
+     * @param operation the operation to run
+     */
+    public static void assertMaxStatements(int max, Executable operation) {
+        assertMaxStatements(max, () -> {
+            operation.execute();
+            return null;
+        });
+
+    }
+
+    // Lists the statements of a log, one per line
+    private static String describe(StatementLog log) {
+        return log.statements().stream()
+                .map(statement -> "  " + statement.sql() + " " + statement.parameters())
+                .collect(Collectors.joining("\n"));
+
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cache.LoopbackInvalidationBus;
+import com.example.bookstore.catalog.BookCatalog;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
@@ -9,8 +14,18 @@ import org.junit.jupiter.api.Test;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 /**
  * Unit tests for the BookService class.
  * This class tests the validation logic of the Book model.
@@ -95,4 +110,41 @@ class BookServiceTest {
 
     }
 
+    /**
+     * Test case for a lookup that read a book just before an update of it committed.
+     * The lookup must not put its old copy into the cache after the update evicted it.
+     */
+    @Test
+    void whenLookupOverlapsUpdate_thenOldCopyNotCached() throws Exception {
+        BookRepository bookRepo = mock(BookRepository.class);
+        BookService service = new BookService(bookRepo, ShardRouter.single(), new ConcurrentMapCacheManager("books"),
+                new LoopbackInvalidationBus(), mock(BookCatalog.class), new SimpleMeterRegistry());
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        when(bookRepo.findById(1L)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() > 1) {
+                return Optional.of(new Book(1L, "New Title", "Test Author", 29.99));
+            }
+            // The first lookup reads the old row, then stalls until the update has gone through
+            Book old = new Book(1L, "Old Title", "Test Author", 29.99);
+            read.countDown();
+            updated.await(5, TimeUnit.SECONDS);
+            return Optional.of(old);
+        });
+        when(bookRepo.existsById(1L)).thenReturn(true);
+        when(bookRepo.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<Book> lookup = CompletableFuture.supplyAsync(() -> service.getBook(1L));
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        service.updateBook(1L, new Book(null, "New Title", "Test Author", 29.99));
+        updated.countDown();
+        assertEquals("Old Title", lookup.get(5, TimeUnit.SECONDS).getTitle());
+
+        assertEquals("New Title", service.getBook(1L).getTitle());
+        assertEquals(2, reads.get());
+        logger.info("Lookup overlapping an update was not cached");
+
+    }
+
 }
@@ -0,0 +1,184 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.exception.IdempotencyKeyConflictException;
+import com.example.bookstore.exception.IdempotencyKeyInProgressException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IdempotencyService class.
+ * This class tests replaying, coalescing and releasing of idempotency keys.
+ */
+class IdempotencyServiceTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceTest.class);
+
+    // Service under test
+    private IdempotencyService idempotencyService;
+
+    /**
+     * Set up a fresh service before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    }
+
+    /**
+     * Test case for retrying with the same key.
+     * The action should run only once and its result should be replayed.
+     */
+    @Test
+    void whenKeyRepeated_thenResultReplayed() {
+        AtomicInteger calls = new AtomicInteger();
+        String first = idempotencyService.execute("key", "request", () -> "result-" + calls.incrementAndGet());
+        String second = idempotencyService.execute("key", "request", () -> "result-" + calls.incrementAndGet());
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, calls.get());
+        logger.info("Replay test passed");
+
+    }
+
+    /**
+     * Test case for concurrent requests with the same key.
+     * Only one action should run and every caller should get its result.
+     */
+    @Test
+    void whenConcurrentDuplicates_thenActionRunsOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> idempotencyService.execute("key", "request", () -> {
+                    calls.incrementAndGet();
+                    awaitQuietly(release);
+                    return "created";
+                }));
+            }
+            // Give every caller time to reach the store before the write finishes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertEquals("created", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        logger.info("Coalescing test passed");
+
+    }
+
+    /**
+     * Test case for a failed first attempt.
+     * The key should be released so that a retry runs the action again.
+     */
+    @Test
+    void whenActionFails_thenRetryRunsAgain() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key", "request", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals("created", idempotencyService.execute("key", "request", () -> "created"));
+        logger.info("Failure release test passed");
+
+    }
+
+    /**
+     * Test case for a first attempt failing with an Error rather than an exception.
+     * Waiting duplicates should fail too, and the key should be released for a retry.
+     */
+    @Test
+    void whenActionThrowsError_thenWaitersFailAndKeyReleased() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> idempotencyService.execute("key", "request", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                throw new AssertionError("out of memory");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?> duplicate = executor.submit(() -> idempotencyService.execute("key", "request", () -> "created"));
+            // Give the duplicate time to start waiting on the first request
+            Thread.sleep(200);
+            release.countDown();
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("created", idempotencyService.execute("key", "request", () -> "created"));
+        logger.info("Error release test passed");
+
+    }
+
+    /**
+     * Test case for a duplicate arriving while the first request is stuck.
+     * The duplicate should give up after the wait timeout instead of blocking forever.
+     */
+    @Test
+    void whenFirstRequestHangs_thenDuplicateGivesUp() throws Exception {
+        IdempotencyService service = new IdempotencyService(100, Duration.ofMinutes(1), Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> service.execute("key", "request", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "created";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertThrows(IdempotencyKeyInProgressException.class, () -> service.execute("key", "request", () -> "duplicate"));
+            release.countDown();
+            assertEquals("created", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Wait timeout test passed");
+
+    }
+
+    /**
+     * Test case for reusing a key with a different request.
+     * It should be rejected instead of replaying an unrelated result.
+     */
+    @Test
+    void whenKeyReusedForOtherRequest_thenConflict() {
+        idempotencyService.execute("key", "request", () -> "created");
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.execute("key", "other request", () -> "created"));
+        logger.info("Conflict test passed");
+
+    }
+
+    // Waits for the latch, restoring the interrupt flag if interrupted
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.example.bookstore.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SingleFlight class.
+ * This class tests that concurrent identical calls share one execution.
+ */
+class SingleFlightTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightTest.class);
+
+    // Registry collecting the coalescing metrics
+    private MeterRegistry registry;
+
+    // SingleFlight under test
+    private SingleFlight<Long, String> singleFlight;
+
+    /**
+     * Set up a fresh registry and SingleFlight before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", registry);
+
+    }
+
+    /**
+     * Test case for concurrent calls with the same key.
+     * The call should run once and the other callers should be counted as coalesced.
+     */
+    @Test
+    void whenConcurrentCallsForSameKey_thenOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    calls.incrementAndGet();
+                    awaitQuietly(release);
+                    return "book-1";
+                })));
+            }
+            // Give every caller time to join the in-flight call before it completes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> future : futures) {
+                assertEquals("book-1", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1.0, registry.counter("bookstore.singleflight.executed", "operation", "test").count());
+        assertEquals(7.0, registry.counter("bookstore.singleflight.coalesced", "operation", "test").count());
+        logger.info("Coalescing test passed");
+
+    }
+
+    /**
+     * Test case for sequential calls with the same key.
+     * Results are not remembered, so each call should run.
+     */
+    @Test
+    void whenSequentialCalls_thenEachExecutes() {
+        AtomicInteger calls = new AtomicInteger();
+        singleFlight.execute(1L, () -> "book-" + calls.incrementAndGet());
+        assertEquals("book-2", singleFlight.execute(1L, () -> "book-" + calls.incrementAndGet()));
+        assertEquals(0.0, registry.counter("bookstore.singleflight.coalesced", "operation", "test").count());
+        logger.info("Sequential test passed");
+
+    }
+
+    /**
+     * Test case for a failing call.
+     * The failure should propagate and the key should be free for the next call.
+     */
+    @Test
+    void whenCallFails_thenExceptionPropagatesAndKeyIsReleased() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("lookup failed");
+        }));
+        assertEquals("book-1", singleFlight.execute(1L, () -> "book-1"));
+        logger.info("Failure test passed");
+
+    }
+
+    /**
+     * Test case for a call failing with an Error while another caller is waiting on it.
+     * The waiting caller should get the Error instead of blocking forever.
+     */
+    @Test
+    void whenCallThrowsError_thenWaitingCallerFails() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                throw new AssertionError("lookup crashed");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "book-1"));
+            // Give the follower time to join the in-flight call before it fails
+            Thread.sleep(200);
+            release.countDown();
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1.0, registry.counter("bookstore.singleflight.coalesced", "operation", "test").count());
+        logger.info("Error test passed");
+
+    }
+
+    /**
+     * Test case for a call that hangs.
+     * A caller waiting longer than the maximum wait should run the call itself.
+     */
+    @Test
+    void whenCallHangs_thenWaitingCallerRunsItself() throws Exception {
+        SingleFlight<Long, String> impatient = new SingleFlight<>("impatient", registry, Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> impatient.execute(1L, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "slow";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals("fast", impatient.execute(1L, () -> "fast"));
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2.0, registry.counter("bookstore.singleflight.executed", "operation", "impatient").count());
+        logger.info("Hang test passed");
+
+    }
+
+    // Waits for the latch, restoring the interrupt flag if interrupted
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+}
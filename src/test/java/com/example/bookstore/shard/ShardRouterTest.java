@@ -0,0 +1,106 @@
+package com.example.bookstore.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ShardRouter class.
+ * This class tests scatter-gather without databases, using the shard context as the query result.
+ */
+class ShardRouterTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouterTest.class);
+
+    // Number of shards of the router under test
+    private static final int SHARDS = 3;
+
+    // Router under test
+    private final ShardRouter router = new ShardRouter(SHARDS, ShardRouter.Strategy.RANGE, 100);
+
+    /**
+     * Stop the router's threads after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        router.close();
+
+    }
+
+    /**
+     * Test case for a scatter, which should query every shard once and merge the results in order.
+     */
+    @Test
+    void whenScattered_thenEveryShardQueriedAndMerged() {
+        List<Integer> shards = router.scatter(() -> List.of(ShardContext.current()), Integer::compare);
+        assertEquals(List.of(0, 1, 2), shards);
+        assertNull(ShardContext.current());
+        assertEquals(List.of(1L, 150L, 250L, 299L), router.scatterByShard(List.of(250L, 1L, 299L, 150L),
+                ids -> ids.stream().peek(id -> assertEquals(router.shardOf(id), ShardContext.current())).toList())
+                .stream().sorted().toList());
+        assertTrue(router.scatterByShard(List.of(), ids -> List.of(ids)).isEmpty());
+        logger.info("Scatter test passed");
+
+    }
+
+    /**
+     * Test case for many requests scattering at once.
+     * Every shard query of every request should be able to run at the same time; with a fixed pool of
+     * one thread per shard, the queries would queue and the latch would never open.
+     */
+    @Test
+    void whenManyRequestsScatter_thenShardQueriesRunConcurrently() throws Exception {
+        int requests = 8;
+        CountDownLatch allRunning = new CountDownLatch(requests * SHARDS);
+        ExecutorService callers = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<List<Boolean>>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(callers.submit(() -> router.scatter(() -> {
+                    allRunning.countDown();
+                    try {
+                        return List.of(allRunning.await(5, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return List.of(false);
+                    }
+                }, null)));
+            }
+            for (Future<List<Boolean>> result : results) {
+                assertEquals(List.of(true, true, true), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        logger.info("Concurrent scatter test passed");
+
+    }
+
+    /**
+     * Test case for a failing shard, whose exception should reach the caller unchanged.
+     */
+    @Test
+    void whenShardFails_thenFailureRethrown() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> router.scatter(() -> {
+            if (ShardContext.current() == 2) {
+                throw new IllegalStateException("shard 2 down");
+            }
+            return List.of();
+        }, null));
+        assertEquals("shard 2 down", failure.getMessage());
+        logger.info("Failure test passed");
+
+    }
+}
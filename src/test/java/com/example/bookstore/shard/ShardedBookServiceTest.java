@@ -0,0 +1,144 @@
+package com.example.bookstore.shard;
+
+import com.example.bookstore.dto.BookLookupResult;
+import com.example.bookstore.dto.BookRow;
+import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.monitoring.sql.StatementLog;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.bookstore.monitoring.sql.StatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for BookService running over sharded storage.
+ * This class tests routing of point operations and scatter-gather of list queries.
+ */
+@SpringBootTest
+@ActiveProfiles("sharded")
+class ShardedBookServiceTest {
+
+    // Logger instance for logging information and errors
+    private static final Logger logger = LoggerFactory.getLogger(ShardedBookServiceTest.class);
+
+    // Service under test
+    @Autowired
+    private BookService bookService;
+
+    // Router used to inspect where books were placed
+    @Autowired
+    private ShardRouter shardRouter;
+
+    // Repository used to inspect each shard directly
+    @Autowired
+    private BookRepository bookRepository;
+
+    // Books added by each test, one per shard
+    private List<Book> added;
+
+    /**
+     * Set up a method to be executed before each test.
+     * This method empties every shard and adds one book per shard.
+     */
+    @BeforeEach
+    void setUp() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.on(shard, () -> {
+                bookRepository.deleteAll();
+                return null;
+            });
+        }
+        added = List.of(
+                bookService.addBook(new Book(null, "Shard Book A", "Author A", 30.0)),
+                bookService.addBook(new Book(null, "Shard Book B", "Author B", 10.0)),
+                bookService.addBook(new Book(null, "Shard Book C", "Author A", 20.0)));
+
+    }
+
+    /**
+     * Test case for placing new books.
+     * Each book should land on its own shard, with an ID from that shard's block.
+     */
+    @Test
+    void whenBooksAdded_thenSpreadOverShardsWithShardAwareIds() {
+        Set<Integer> shards = added.stream().map(book -> shardRouter.shardOf(book.getId())).collect(Collectors.toSet());
+        assertEquals(Set.of(0, 1, 2), shards);
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            long count = ShardContext.on(shard, bookRepository::count);
+            assertEquals(1L, count);
+        }
+        logger.info("Books placed with IDs {}", added.stream().map(Book::getId).toList());
+
+    }
+
+    /**
+     * Test case for point operations.
+     * Lookups, updates and deletes should go to the shard holding the book.
+     */
+    @Test
+    void whenAccessingById_thenRoutedToOwningShard() {
+        Book last = added.get(2);
+        assertEquals("Shard Book C", bookService.getBook(last.getId()).getTitle());
+
+        bookService.updateBook(last.getId(), new Book(null, "Renamed", "Author A", 20.0));
+        assertEquals("Renamed", bookService.getBook(last.getId()).getTitle());
+
+        bookService.deleteBook(last.getId());
+        assertThrows(BookNotFoundException.class, () -> bookService.getBook(last.getId()));
+        logger.info("Point operations routed to shard {}", shardRouter.shardOf(last.getId()));
+
+    }
+
+    /**
+     * Test case for list queries.
+     * Results from all shards should be gathered and merged in order.
+     */
+    @Test
+    void whenListing_thenResultsGatheredFromAllShards() {
+        assertEquals(added.stream().map(Book::getId).toList(),
+                bookService.getAllBooks().stream().map(Book::getId).toList());
+        assertEquals(List.of("Shard Book B", "Shard Book C", "Shard Book A"),
+                bookService.searchBooks(null, null, null, 10).stream().map(BookRow::title).toList());
+        assertEquals(List.of("Shard Book C", "Shard Book A"),
+                bookService.searchBooks("Author A", null, null, 10).stream().map(BookRow::title).toList());
+
+        List<Long> ids = List.of(added.get(2).getId(), 424242L, added.get(0).getId());
+        BookLookupResult result = bookService.getBooks(ids);
+        assertEquals(List.of("Shard Book C", "Shard Book A"), result.books().stream().map(Book::getTitle).toList());
+        assertEquals(List.of(424242L), result.missing());
+        logger.info("Scatter-gather queries passed");
+
+    }
+
+    /**
+     * Test case for counting the statements of scattered queries.
+     * The parts running on other threads should count towards the caller's statements, one query per shard.
+     */
+    @Test
+    void whenScattered_thenStatementsOfEveryShardCounted() {
+        try (StatementLog log = StatementLog.open()) {
+            bookService.getAllBooks();
+            assertEquals(shardRouter.shardCount(), log.count());
+        }
+        assertMaxStatements(shardRouter.shardCount(), () -> bookService.getBookSummaries());
+        AssertionFailedError tooMany = assertThrows(AssertionFailedError.class,
+                () -> assertMaxStatements(shardRouter.shardCount() - 1, () -> bookService.getBookSummaries()));
+        assertTrue(tooMany.getMessage().contains(shardRouter.shardCount() + " were executed"));
+        logger.info("Scattered statement count passed");
+
+    }
+
+}